@@ -18,14 +18,20 @@
 
 package com.epicnicity322.epicpluginlib.bukkit.lang;
 
+import com.epicnicity322.epicpluginlib.core.EpicPluginLib;
 import com.epicnicity322.epicpluginlib.core.lang.LanguageHolder;
+import com.epicnicity322.epicpluginlib.core.scheduler.TaskFactory;
 import com.epicnicity322.yamlhandler.Configuration;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.function.Supplier;
 
@@ -63,12 +69,50 @@ public final class MessageSender extends LanguageHolder<String, CommandSender>
         return null;
     }
 
+    @Override
+    protected @Nullable String receiverLocale(@NotNull CommandSender receiver)
+    {
+        if (receiver instanceof Player) {
+            return ((Player) receiver).getLocale().toUpperCase(Locale.ROOT);
+        }
+        return null;
+    }
+
     @Override
     public void send(@NotNull CommandSender receiver, boolean prefix, @Nullable String message)
     {
         super.send(receiver, prefix, message);
     }
 
+    /**
+     * Sends the message assigned to this key to every receiver, formatting it once per locale. Entity receivers owned
+     * by another thread are sent the message through the entity scheduler, so on Folia each player gets it in the
+     * thread of their region. The other receivers are sent the message right away.
+     *
+     * @param receivers       Who this message will be sent to.
+     * @param key             The key of the message.
+     * @param entityScheduler The scheduler of the entity receivers. E.g. {@code taskFactory.entity()}.
+     * @param placeholders    Alternating placeholder names and values. E.g. {@code "player", player.getName()}.
+     * @return The amount of receivers the message was sent to.
+     * @see #broadcast(Collection, String, Object...)
+     */
+    public int broadcast(@NotNull Collection<? extends CommandSender> receivers, @NotNull String key, @NotNull TaskFactory.Entity<Entity> entityScheduler, @Nullable Object @NotNull ... placeholders)
+    {
+        return broadcast(receivers, key, (receiver, send) -> {
+            // Scheduling takes at least a tick, so only the entities owned by another thread are scheduled.
+            if (receiver instanceof Entity && !isOwnedByCurrentThread((Entity) receiver)) {
+                entityScheduler.delayed((Entity) receiver, 0, task -> send.run(), null);
+            } else {
+                send.run();
+            }
+        }, placeholders);
+    }
+
+    private static boolean isOwnedByCurrentThread(@NotNull Entity entity)
+    {
+        return EpicPluginLib.Platform.hasThreadedRegions() ? Bukkit.isOwnedByCurrentRegion(entity) : Bukkit.isPrimaryThread();
+    }
+
     @Override
     public @NotNull String getColored(@NotNull String key)
     {
@@ -20,6 +20,7 @@ package com.epicnicity322.epicpluginlib.bukkit.util;
 
 import com.epicnicity322.epicpluginlib.bukkit.EpicPluginLibBukkit;
 import com.epicnicity322.epicpluginlib.bukkit.lang.MessageSender;
+import com.epicnicity322.epicpluginlib.core.util.PlaceholderTemplate;
 import com.epicnicity322.epicpluginlib.core.util.StringUtils;
 import com.epicnicity322.yamlhandler.Configuration;
 import org.bukkit.Bukkit;
@@ -41,6 +42,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
@@ -48,6 +50,9 @@ import java.util.regex.Pattern;
 public final class InventoryUtils
 {
     private static final @NotNull Pattern loreLineBreaker = Pattern.compile("<line>|\\n");
+    private static final int MAX_CACHED_TEMPLATES = 512;
+    // Item names and lores compiled by their colored text, so menus built often don't parse the same text again.
+    private static final @NotNull ConcurrentHashMap<String, PlaceholderTemplate> itemTemplates = new ConcurrentHashMap<>();
     private static final @NotNull HashMap<UUID, Map<Integer, Consumer<InventoryClickEvent>>> openInventories = new HashMap<>();
     private static final @NotNull HashMap<UUID, Consumer<InventoryCloseEvent>> onClose = new HashMap<>();
     private static final @NotNull Listener inventoryListener = new Listener()
@@ -247,12 +252,17 @@ public final class InventoryUtils
 
     private static @NotNull String replaceVar(@NotNull String string, @Nullable String... variables)
     {
-        if (variables == null) return string;
-        for (int i = 0; i < variables.length; ++i) {
-            String var = variables[i];
-            if (var != null) string = string.replace("<var" + i + ">", var);
+        if (variables == null || variables.length == 0) return string;
+
+        PlaceholderTemplate template = itemTemplates.get(string);
+
+        if (template == null) {
+            // Texts of reloaded languages are left behind, so the cache is dropped once it gets too big.
+            if (itemTemplates.size() >= MAX_CACHED_TEMPLATES) itemTemplates.clear();
+            template = itemTemplates.computeIfAbsent(string, PlaceholderTemplate::compile);
         }
-        return string;
+
+        return template.renderIndexed("var", (Object[]) variables);
     }
 
     /**
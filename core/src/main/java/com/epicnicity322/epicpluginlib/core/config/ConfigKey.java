@@ -0,0 +1,139 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import com.epicnicity322.yamlhandler.Configuration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.BiFunction;
+
+/**
+ * A precompiled handle to a value in the configuration of a {@link ConfigurationHolder}.
+ * <p>
+ * The value of the key is resolved once per {@link ConfigurationHolder#generation()} and then cached, so reading it
+ * costs about the same as reading a field. Once {@link ConfigurationManager} swaps the configuration of the holder, the
+ * value is resolved again on the next {@link #get()}.
+ * <p>
+ * Changes made directly to the {@link Configuration} instance are seen once {@link ConfigurationHolder#markDirty()} is
+ * called, as it increases the generation. Until then, keys that were already resolved keep the previous value.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * static final ConfigKey<Boolean> ENABLED = ConfigKey.ofBoolean(Configurations.CONFIG, "Some.Deep.Path", true);
+ *
+ * if (ENABLED.get()) { ... }
+ * }</pre>
+ *
+ * @param <T> The type of the value.
+ */
+public final class ConfigKey<T>
+{
+    private final @NotNull ConfigurationHolder holder;
+    private final @NotNull String path;
+    private final @NotNull BiFunction<Configuration, String, T> resolver;
+    private volatile @Nullable Resolved<T> resolved;
+
+    private ConfigKey(@NotNull ConfigurationHolder holder, @NotNull String path, @NotNull BiFunction<Configuration, String, T> resolver)
+    {
+        this.holder = holder;
+        this.path = path;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Creates a key that resolves its value using a custom function.
+     *
+     * @param holder   The holder of the configuration to get the value from.
+     * @param path     The path of the value in the configuration.
+     * @param resolver The function to get the value of the path from the configuration.
+     * @param <T>      The type of the value.
+     * @return The key for this path.
+     */
+    public static <T> @NotNull ConfigKey<T> of(@NotNull ConfigurationHolder holder, @NotNull String path, @NotNull BiFunction<Configuration, String, T> resolver)
+    {
+        return new ConfigKey<>(holder, path, resolver);
+    }
+
+    public static @NotNull ConfigKey<String> ofString(@NotNull ConfigurationHolder holder, @NotNull String path, @NotNull String def)
+    {
+        return new ConfigKey<>(holder, path, (config, p) -> config.getString(p).orElse(def));
+    }
+
+    public static @NotNull ConfigKey<Boolean> ofBoolean(@NotNull ConfigurationHolder holder, @NotNull String path, boolean def)
+    {
+        return new ConfigKey<>(holder, path, (config, p) -> config.getBoolean(p).orElse(def));
+    }
+
+    public static @NotNull ConfigKey<Integer> ofInt(@NotNull ConfigurationHolder holder, @NotNull String path, int def)
+    {
+        return new ConfigKey<>(holder, path, (config, p) -> config.getNumber(p).map(Number::intValue).orElse(def));
+    }
+
+    public static @NotNull ConfigKey<Long> ofLong(@NotNull ConfigurationHolder holder, @NotNull String path, long def)
+    {
+        return new ConfigKey<>(holder, path, (config, p) -> config.getNumber(p).map(Number::longValue).orElse(def));
+    }
+
+    public static @NotNull ConfigKey<Double> ofDouble(@NotNull ConfigurationHolder holder, @NotNull String path, double def)
+    {
+        return new ConfigKey<>(holder, path, (config, p) -> config.getNumber(p).map(Number::doubleValue).orElse(def));
+    }
+
+    /**
+     * Gets the value of this key in the current configuration of the holder. The value is only resolved again if the
+     * configuration of the holder was swapped since the last call.
+     *
+     * @return The value of this key.
+     */
+    public T get()
+    {
+        ConfigurationHolder.Snapshot snapshot = holder.snapshot();
+        Resolved<T> resolved = this.resolved;
+
+        if (resolved == null || resolved.generation != snapshot.generation()) {
+            resolved = new Resolved<>(resolver.apply(snapshot.config(), path), snapshot.generation());
+            this.resolved = resolved;
+        }
+
+        return resolved.value;
+    }
+
+    public @NotNull ConfigurationHolder holder()
+    {
+        return holder;
+    }
+
+    public @NotNull String path()
+    {
+        return path;
+    }
+
+    private static final class Resolved<T>
+    {
+        private final T value;
+        private final long generation;
+
+        private Resolved(T value, long generation)
+        {
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+}
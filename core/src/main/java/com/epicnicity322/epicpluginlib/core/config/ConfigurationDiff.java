@@ -0,0 +1,159 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import com.epicnicity322.yamlhandler.Configuration;
+import com.epicnicity322.yamlhandler.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The differences between two configurations, computed by comparing the values of every key path.
+ * <p>
+ * Only paths of values are compared, sections are considered changed if any of their children changed. Use
+ * {@link #changedUnder(String)} to test a whole section.
+ *
+ * @see ConfigurationHolder#addChangeListener(java.util.function.Consumer)
+ */
+public final class ConfigurationDiff
+{
+    private final @NotNull Map<String, Change> changes;
+    private final char separator;
+
+    private ConfigurationDiff(@NotNull Map<String, Change> changes, char separator)
+    {
+        this.changes = Collections.unmodifiableMap(changes);
+        this.separator = separator;
+    }
+
+    /**
+     * Computes the differences between the old and new configurations.
+     *
+     * @param oldConfig The configuration before the change.
+     * @param newConfig The configuration after the change.
+     * @return The differences between both configurations.
+     */
+    static @NotNull ConfigurationDiff compute(@NotNull Configuration oldConfig, @NotNull Configuration newConfig)
+    {
+        Map<String, Object> oldNodes = oldConfig.getAbsoluteNodes();
+        Map<String, Object> newNodes = newConfig.getAbsoluteNodes();
+        HashMap<String, Change> changes = new HashMap<>();
+
+        for (Map.Entry<String, Object> node : newNodes.entrySet()) {
+            Object newValue = node.getValue();
+            if (newValue instanceof ConfigurationSection) continue;
+
+            Object oldValue = oldNodes.get(node.getKey());
+            if (oldValue instanceof ConfigurationSection) oldValue = null;
+
+            if (!Objects.equals(oldValue, newValue)) changes.put(node.getKey(), new Change(oldValue, newValue));
+        }
+
+        for (Map.Entry<String, Object> node : oldNodes.entrySet()) {
+            Object oldValue = node.getValue();
+            if (oldValue instanceof ConfigurationSection) continue;
+
+            Object newValue = newNodes.get(node.getKey());
+            // Removed paths, or values that turned into sections.
+            if (newValue == null || newValue instanceof ConfigurationSection)
+                changes.put(node.getKey(), new Change(oldValue, null));
+        }
+
+        return new ConfigurationDiff(changes, newConfig.getSectionSeparator());
+    }
+
+    /**
+     * @return An unmodifiable map with the changed key paths and their old and new values.
+     */
+    public @NotNull Map<String, Change> changes()
+    {
+        return changes;
+    }
+
+    /**
+     * @return Whether no value changed.
+     */
+    public boolean isEmpty()
+    {
+        return changes.isEmpty();
+    }
+
+    /**
+     * @param path The path of the value.
+     * @return Whether the value in this exact path changed.
+     */
+    public boolean changed(@NotNull String path)
+    {
+        return changes.containsKey(path);
+    }
+
+    /**
+     * @param path The path of the value or section.
+     * @return Whether the value in this path, or any value inside the section in this path, changed.
+     */
+    public boolean changedUnder(@NotNull String path)
+    {
+        if (changes.containsKey(path)) return true;
+
+        int length = path.length();
+
+        for (String changed : changes.keySet()) {
+            if (changed.length() > length && changed.charAt(length) == separator && changed.startsWith(path))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * The old and new values of a changed key path.
+     */
+    public static final class Change
+    {
+        private final @Nullable Object oldValue;
+        private final @Nullable Object newValue;
+
+        private Change(@Nullable Object oldValue, @Nullable Object newValue)
+        {
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        /**
+         * @return The value before the change, null if the path was added.
+         */
+        public @Nullable Object oldValue()
+        {
+            return oldValue;
+        }
+
+        /**
+         * @return The value after the change, null if the path was removed.
+         */
+        public @Nullable Object newValue()
+        {
+            return newValue;
+        }
+    }
+}
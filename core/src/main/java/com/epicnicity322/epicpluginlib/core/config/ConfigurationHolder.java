@@ -25,11 +25,26 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * A class that holds the default configuration and a changing configuration instance that is loaded by
  * {@link ConfigurationManager}.
+ * <p>
+ * The current configuration is published as an immutable {@link Snapshot} through a volatile reference, so reading it
+ * never blocks. Every time the configuration is swapped, the {@link #generation()} is increased, allowing callers to
+ * tell the configuration changed without taking a lock.
+ * <p>
+ * The default configuration is only parsed from the contents on its first access. Holders with identical contents
+ * that use the same loader share a single parsed default configuration, so {@link #defaultConfig()} should never be
+ * modified.
  *
  * @see ConfigurationManager
  * @see #ConfigurationHolder(Path, ConfigurationManager, String)
@@ -38,11 +53,21 @@ public class ConfigurationHolder
 {
     private final @NotNull Path path;
     private final @NotNull String contents;
-    private final @NotNull Configuration defaultConfiguration;
-    private @NotNull Configuration configuration;
+    private final @NotNull YamlConfigurationLoader loader;
+    private final @Nullable DefaultConfigurationCache defaultsCache;
+    private volatile @Nullable Configuration defaultConfiguration;
+    private final @NotNull CopyOnWriteArrayList<Consumer<ConfigurationDiff>> changeListeners = new CopyOnWriteArrayList<>();
+    private volatile @Nullable Snapshot snapshot;
+    private final @NotNull CopyOnWriteArrayList<ConfigurationHolder> overlays = new CopyOnWriteArrayList<>();
+    // Holders that have this holder as an overlay.
+    private final @NotNull CopyOnWriteArrayList<ConfigurationHolder> overlaid = new CopyOnWriteArrayList<>();
+    private final @NotNull AtomicLong layersVersion = new AtomicLong();
+    private volatile @Nullable LayeredConfiguration layered;
+    // The contents to save, dumped when this holder was last marked dirty, or null if it's not dirty.
+    private final @NotNull AtomicReference<String> dirty = new AtomicReference<>();
 
     /**
-     * Creates a new ConfigurationHolder, and loads the default config from the specified contents using a new
+     * Creates a new ConfigurationHolder, which loads the default config from the specified contents using a new
      * {@link YamlConfigurationLoader}.
      *
      * @param path     The path of the configuration.
@@ -51,7 +76,7 @@ public class ConfigurationHolder
      */
     public ConfigurationHolder(@NotNull Path path, @NotNull String contents)
     {
-        this(path, new YamlConfigurationLoader(), contents);
+        this(path, new YamlConfigurationLoader(), null, contents);
     }
 
     /**
@@ -65,7 +90,7 @@ public class ConfigurationHolder
      */
     public ConfigurationHolder(@NotNull Path path, @NotNull ConfigurationManager manager, @NotNull String contents)
     {
-        this(path, manager.loader, contents);
+        this(path, manager.loader, manager.defaultsCache, contents);
     }
 
     /**
@@ -77,15 +102,15 @@ public class ConfigurationHolder
      */
     public ConfigurationHolder(@NotNull Path path, @NotNull YamlConfigurationLoader loader, @NotNull String contents)
     {
-        try {
-            this.defaultConfiguration = loader.load(contents);
-        } catch (InvalidConfigurationException e) {
-            throw new RuntimeException(e);
-        }
+        this(path, loader, null, contents);
+    }
 
-        this.contents = contents;
+    private ConfigurationHolder(@NotNull Path path, @NotNull YamlConfigurationLoader loader, @Nullable DefaultConfigurationCache defaultsCache, @NotNull String contents)
+    {
         this.path = path;
-        configuration = defaultConfiguration;
+        this.loader = loader;
+        this.defaultsCache = defaultsCache;
+        this.contents = contents;
     }
 
     /**
@@ -125,8 +150,34 @@ public class ConfigurationHolder
         return defaultConfig();
     }
 
+    /**
+     * Gets the default configuration, parsed from {@link #contents()}. The contents are parsed on the first call of
+     * this method.
+     * <p>
+     * Holders created with a {@link ConfigurationManager} share the same default configuration instance with the other
+     * holders of the manager with identical contents, so it must not be modified.
+     *
+     * @return The default configuration.
+     * @throws RuntimeException If the contents are not a valid YAML.
+     */
     public @NotNull Configuration defaultConfig()
     {
+        Configuration defaultConfiguration = this.defaultConfiguration;
+
+        if (defaultConfiguration == null) {
+            if (defaultsCache != null) {
+                defaultConfiguration = defaultsCache.get(contents);
+            } else {
+                try {
+                    defaultConfiguration = loader.load(contents);
+                } catch (InvalidConfigurationException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            this.defaultConfiguration = defaultConfiguration;
+        }
+
         return defaultConfiguration;
     }
 
@@ -134,19 +185,233 @@ public class ConfigurationHolder
      * @deprecated Use {@link #config()}
      */
     @Deprecated
-    public synchronized @NotNull Configuration getConfiguration()
+    public @NotNull Configuration getConfiguration()
     {
         return config();
     }
 
-    public synchronized @NotNull Configuration config()
+    public @NotNull Configuration config()
+    {
+        return snapshot().configuration;
+    }
+
+    /**
+     * The generation of the current configuration. The generation starts at 0 with the default configuration, and is
+     * increased every time {@link ConfigurationManager} swaps the configuration of this holder, or the configuration is
+     * modified and {@link #markDirty()} is called.
+     *
+     * @return The generation of the current configuration.
+     */
+    public long generation()
+    {
+        return snapshot().generation;
+    }
+
+    /**
+     * Gets the current configuration and its generation as a single consistent snapshot.
+     *
+     * @return The current snapshot of this holder.
+     */
+    public @NotNull Snapshot snapshot()
+    {
+        Snapshot snapshot = this.snapshot;
+        return snapshot == null ? initialSnapshot() : snapshot;
+    }
+
+    private synchronized @NotNull Snapshot initialSnapshot()
+    {
+        Snapshot snapshot = this.snapshot;
+        // A copy of the default configuration is the configuration of generation 0, until one is loaded. Defaults shared
+        // with other holders are copied, so changes to the configuration of this holder don't leak to them.
+        if (snapshot == null)
+            this.snapshot = snapshot = new Snapshot(defaultsCache == null ? defaultConfig() : defaultsCache.copy(defaultConfig()), 0, null);
+        return snapshot;
+    }
+
+    final void setConfig(@NotNull Configuration configuration, @Nullable FileFingerprint fingerprint)
     {
-        return configuration;
+        Snapshot previous;
+
+        synchronized (this) {
+            previous = this.snapshot;
+            this.snapshot = new Snapshot(configuration, previous == null ? 1 : previous.generation + 1, fingerprint);
+        }
+
+        layersVersion.incrementAndGet();
+        for (ConfigurationHolder holder : overlaid) holder.layersVersion.incrementAndGet();
+
+        if (changeListeners.isEmpty()) return;
+
+        ConfigurationDiff diff = ConfigurationDiff.compute(previous == null ? defaultConfig() : previous.configuration, configuration);
+        if (diff.isEmpty()) return;
+
+        RuntimeException failure = null;
+
+        for (Consumer<ConfigurationDiff> listener : changeListeners) {
+            try {
+                listener.accept(diff);
+            } catch (Throwable t) {
+                // Every listener is notified before the failures are thrown.
+                if (failure == null) failure = new RuntimeException("Failed to accept change of configuration " + path);
+                failure.addSuppressed(t);
+            }
+        }
+
+        if (failure != null) throw failure;
     }
 
-    synchronized final void setConfig(@NotNull Configuration configuration)
+    /**
+     * Marks this configuration as modified at runtime, so it's saved on the next
+     * {@link ConfigurationManager#saveDirtyConfigurations()}. Call this after setting values in {@link #config()},
+     * instead of saving the file every time. However many times this is called, the file is written once per save.
+     * <p>
+     * The configuration is dumped in the calling thread, so the save writes the values as they were when this was
+     * called, even if the save happens in another thread. Call this once after a batch of modifications, and from the
+     * thread that modified the configuration. The {@link #generation()} is also increased, so cached
+     * {@link ConfigKey} values and {@link #layered()} configurations are resolved again with the modified values.
+     *
+     * @see ConfigurationManager#startAutoSave(com.epicnicity322.epicpluginlib.core.scheduler.TaskFactory.Async, long, Consumer)
+     */
+    public void markDirty()
     {
-        this.configuration = configuration;
+        Snapshot current;
+
+        synchronized (this) {
+            current = snapshot();
+            // Modified, so the configuration no longer has the contents of the file it was loaded from.
+            this.snapshot = new Snapshot(current.configuration, current.generation + 1, null);
+        }
+
+        layersVersion.incrementAndGet();
+        for (ConfigurationHolder holder : overlaid) holder.layersVersion.incrementAndGet();
+
+        dirty.set(loader.dump(current.configuration));
+    }
+
+    /**
+     * @return Whether this configuration was modified since it was last saved.
+     * @see #markDirty()
+     */
+    public boolean isDirty()
+    {
+        return dirty.get() != null;
+    }
+
+    /**
+     * Clears the dirty flag.
+     *
+     * @return The contents to save, dumped by the last {@link #markDirty()}, or null if this configuration was not
+     * dirty.
+     */
+    @Nullable String clearDirty()
+    {
+        return dirty.getAndSet(null);
+    }
+
+    /**
+     * Marks this configuration as dirty again after failing to save the contents, unless it was marked dirty in the
+     * meantime with newer contents.
+     *
+     * @param contents The contents that failed to be saved.
+     */
+    void restoreDirty(@NotNull String contents)
+    {
+        dirty.compareAndSet(null, contents);
+    }
+
+    /**
+     * Adds a listener to be notified with the changed key paths every time {@link ConfigurationManager} swaps the
+     * configuration of this holder, and at least one value changed.
+     * <p>
+     * The {@link ConfigurationDiff} is computed once per swap, in the thread that loaded the configuration, and is
+     * shared by all listeners. Load the configurations with {@link ConfigurationManager#loadConfigurationsAsync(java.util.concurrent.Executor)}
+     * to keep the diff computation and listeners off the main thread.
+     * <p>
+     * Exceptions thrown by listeners don't prevent the other listeners from being notified. They are suppressed in a
+     * single exception that the manager returns in the map of exceptions of the load, and the new configuration is kept.
+     *
+     * @param listener The listener to accept the differences between the old and new configuration.
+     */
+    public void addChangeListener(@NotNull Consumer<ConfigurationDiff> listener)
+    {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added by {@link #addChangeListener(Consumer)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeChangeListener(@NotNull Consumer<ConfigurationDiff> listener)
+    {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Adds an overlay file on top of this configuration. Values in overlays take priority over values in this
+     * configuration, and overlays added later take priority over overlays added earlier. The resolved values of all
+     * layers are obtained through {@link #layered()}.
+     * <p>
+     * Overlays are loaded like any other holder, so they should be registered in a {@link ConfigurationManager}. Use
+     * contents with no values as the default of the overlay, so the keys of this configuration are not overridden by
+     * default. Overlays of the overlay are not applied.
+     *
+     * @param overlay The holder of the overlay file.
+     * @throws IllegalArgumentException If the overlay is this holder.
+     */
+    public void addOverlay(@NotNull ConfigurationHolder overlay)
+    {
+        if (overlay == this) throw new IllegalArgumentException("A configuration can't be an overlay of itself.");
+
+        overlays.add(overlay);
+        overlay.overlaid.addIfAbsent(this);
+        layersVersion.incrementAndGet();
+    }
+
+    /**
+     * Removes an overlay added by {@link #addOverlay(ConfigurationHolder)}.
+     *
+     * @param overlay The holder of the overlay file.
+     * @return Whether the overlay was removed.
+     */
+    public boolean removeOverlay(@NotNull ConfigurationHolder overlay)
+    {
+        if (!overlays.remove(overlay)) return false;
+
+        if (!overlays.contains(overlay)) overlay.overlaid.remove(this);
+        layersVersion.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @return The overlays of this configuration, ordered from the lowest to the highest priority.
+     */
+    public @NotNull List<ConfigurationHolder> overlays()
+    {
+        return Collections.unmodifiableList(overlays);
+    }
+
+    /**
+     * Gets the values of this configuration and its overlays, resolved into a flattened map. The layers are resolved on
+     * the first call, and are only resolved again after this configuration or one of its overlays is swapped by
+     * {@link ConfigurationManager}, or an overlay is added or removed.
+     *
+     * @return The resolved values of all layers.
+     */
+    public @NotNull LayeredConfiguration layered()
+    {
+        long version = layersVersion.get();
+        LayeredConfiguration layered = this.layered;
+        if (layered != null && layered.version == version) return layered;
+
+        ArrayList<Configuration> layers = new ArrayList<>(overlays.size() + 1);
+        layers.add(config());
+        for (ConfigurationHolder overlay : overlays) layers.add(overlay.config());
+
+        // If a layer changes while resolving, the version won't match and the layers are resolved again on next call.
+        layered = LayeredConfiguration.resolve(layers, version);
+        this.layered = layered;
+        return layered;
     }
 
     /**
@@ -172,4 +437,42 @@ public class ConfigurationHolder
     {
         return Objects.hash(path);
     }
+
+    /**
+     * An immutable pair of a {@link Configuration} and the generation it was published in, along with the fingerprint
+     * of the file it was loaded from.
+     */
+    public static final class Snapshot
+    {
+        private final @NotNull Configuration configuration;
+        private final long generation;
+        private final @Nullable FileFingerprint fingerprint;
+
+        private Snapshot(@NotNull Configuration configuration, long generation, @Nullable FileFingerprint fingerprint)
+        {
+            this.configuration = configuration;
+            this.generation = generation;
+            this.fingerprint = fingerprint;
+        }
+
+        public @NotNull Configuration config()
+        {
+            return configuration;
+        }
+
+        public long generation()
+        {
+            return generation;
+        }
+
+        /**
+         * @return The fingerprint of the file contents this configuration was parsed from, as recorded by
+         * {@link ConfigurationManager} when loading it, or null if the configuration is not the contents of the file,
+         * such as the default configuration or a configuration that was modified and marked dirty.
+         */
+        public @Nullable FileFingerprint fingerprint()
+        {
+            return fingerprint;
+        }
+    }
 }
\ No newline at end of file
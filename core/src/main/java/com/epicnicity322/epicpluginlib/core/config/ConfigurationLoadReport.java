@@ -0,0 +1,247 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A breakdown of the time spent loading configurations in a {@link ConfigurationManager#loadConfigurations()} call,
+ * recorded when {@link ConfigurationManager#setInstrumented(boolean)} is enabled.
+ * <p>
+ * Each file has its own {@link FileLoad}, with the time spent waiting for the lock of the file, reading it, and
+ * parsing it, so it's possible to tell whether disk, YAML parsing, or lock contention is the bottleneck.
+ *
+ * @see ConfigurationManager#lastLoadReport()
+ */
+public final class ConfigurationLoadReport
+{
+    private final @NotNull List<FileLoad> files;
+    private final long totalNanos;
+
+    ConfigurationLoadReport(@NotNull List<FileLoad> files, long totalNanos)
+    {
+        ArrayList<FileLoad> sorted = new ArrayList<>(files);
+        // Slowest files first.
+        sorted.sort(Comparator.comparingLong(FileLoad::totalNanos).reversed());
+        this.files = Collections.unmodifiableList(sorted);
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * @return The loads of every file, sorted from the slowest to the fastest.
+     */
+    public @NotNull List<FileLoad> files()
+    {
+        return files;
+    }
+
+    /**
+     * @return The wall-clock time in nanoseconds the whole load took.
+     */
+    public long totalNanos()
+    {
+        return totalNanos;
+    }
+
+    /**
+     * @return The sum of the bytes read from every file.
+     */
+    public long bytesRead()
+    {
+        long sum = 0;
+        for (FileLoad file : files) sum += file.bytesRead;
+        return sum;
+    }
+
+    /**
+     * @return The sum of the time in nanoseconds spent reading every file.
+     */
+    public long readNanos()
+    {
+        long sum = 0;
+        for (FileLoad file : files) sum += file.readNanos;
+        return sum;
+    }
+
+    /**
+     * @return The sum of the time in nanoseconds spent parsing every file.
+     */
+    public long parseNanos()
+    {
+        long sum = 0;
+        for (FileLoad file : files) sum += file.parseNanos;
+        return sum;
+    }
+
+    /**
+     * @return The sum of the time in nanoseconds spent waiting for the locks of every file.
+     */
+    public long lockWaitNanos()
+    {
+        long sum = 0;
+        for (FileLoad file : files) sum += file.lockWaitNanos;
+        return sum;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("Loaded ").append(files.size()).append(" configurations in ")
+                .append(TimeUnit.NANOSECONDS.toMillis(totalNanos)).append("ms (read: ")
+                .append(TimeUnit.NANOSECONDS.toMillis(readNanos())).append("ms, parse: ")
+                .append(TimeUnit.NANOSECONDS.toMillis(parseNanos())).append("ms, lock wait: ")
+                .append(TimeUnit.NANOSECONDS.toMillis(lockWaitNanos())).append("ms)");
+
+        for (FileLoad file : files) builder.append('\n').append(file);
+
+        return builder.toString();
+    }
+
+    /**
+     * What happened to a file while it was loaded.
+     */
+    public enum Outcome
+    {
+        /**
+         * The file was unchanged since the last load, so it was not parsed.
+         */
+        SKIPPED,
+        /**
+         * The file was parsed.
+         */
+        LOADED,
+        /**
+         * The file did not exist, so it was created with the default contents.
+         */
+        CREATED,
+        /**
+         * The file was outdated, so it was moved and restored to the default contents.
+         */
+        RESTORED,
+        /**
+         * The file was outdated, so it was migrated by a {@link ConfigurationMigrator}.
+         */
+        MIGRATED,
+        /**
+         * The load threw an exception.
+         */
+        FAILED
+    }
+
+    /**
+     * The time spent loading a single file.
+     */
+    public static final class FileLoad
+    {
+        private final @NotNull ConfigurationHolder holder;
+        long bytesRead;
+        long readNanos;
+        long parseNanos;
+        long lockWaitNanos;
+        long totalNanos;
+        @NotNull Outcome outcome = Outcome.LOADED;
+        @Nullable Exception exception;
+
+        FileLoad(@NotNull ConfigurationHolder holder)
+        {
+            this.holder = holder;
+        }
+
+        /**
+         * @return The holder of the loaded file.
+         */
+        public @NotNull ConfigurationHolder holder()
+        {
+            return holder;
+        }
+
+        /**
+         * @return The amount of bytes read from the file.
+         */
+        public long bytesRead()
+        {
+            return bytesRead;
+        }
+
+        /**
+         * @return The time in nanoseconds spent reading the file attributes and contents.
+         */
+        public long readNanos()
+        {
+            return readNanos;
+        }
+
+        /**
+         * @return The time in nanoseconds spent parsing the contents of the file already in memory into a configuration,
+         * including failed parses. Disk I/O is not included.
+         */
+        public long parseNanos()
+        {
+            return parseNanos;
+        }
+
+        /**
+         * @return The time in nanoseconds spent waiting for the lock of the file.
+         */
+        public long lockWaitNanos()
+        {
+            return lockWaitNanos;
+        }
+
+        /**
+         * @return The time in nanoseconds the whole load of this file took, including the time spent writing.
+         */
+        public long totalNanos()
+        {
+            return totalNanos;
+        }
+
+        /**
+         * @return What happened to the file.
+         */
+        public @NotNull Outcome outcome()
+        {
+            return outcome;
+        }
+
+        /**
+         * @return The exception thrown while loading, if the outcome is {@link Outcome#FAILED}.
+         */
+        public @Nullable Exception exception()
+        {
+            return exception;
+        }
+
+        @Override
+        public String toString()
+        {
+            return holder.path().getFileName() + ": " + outcome + " in " + TimeUnit.NANOSECONDS.toMicros(totalNanos) +
+                    "us (bytes: " + bytesRead + ", read: " + TimeUnit.NANOSECONDS.toMicros(readNanos) + "us, parse: " +
+                    TimeUnit.NANOSECONDS.toMicros(parseNanos) + "us, lock wait: " +
+                    TimeUnit.NANOSECONDS.toMicros(lockWaitNanos) + "us)";
+        }
+    }
+}
\ No newline at end of file
@@ -18,6 +18,9 @@
 
 package com.epicnicity322.epicpluginlib.core.config;
 
+import com.epicnicity322.epicpluginlib.core.logger.ConsoleLogger;
+import com.epicnicity322.epicpluginlib.core.scheduler.Scheduled;
+import com.epicnicity322.epicpluginlib.core.scheduler.TaskFactory;
 import com.epicnicity322.epicpluginlib.core.tools.Version;
 import com.epicnicity322.epicpluginlib.core.util.PathLocker;
 import com.epicnicity322.epicpluginlib.core.util.PathUtils;
@@ -30,13 +33,24 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * A class used for loading configurations into {@link ConfigurationHolder} instances.
@@ -45,11 +59,24 @@ public class ConfigurationManager
 {
     private static final @NotNull ComparableVersion[] dummyMinMaxVersion = new ComparableVersion[0];
     final @NotNull YamlConfigurationLoader loader;
+    final @NotNull DefaultConfigurationCache defaultsCache;
     private final @NotNull Map<ConfigurationHolder, ComparableVersion[]> configurations = new ConcurrentHashMap<>();
+    private final @NotNull Map<ConfigurationHolder, ConfigurationMigrator> migrators = new ConcurrentHashMap<>();
+    private final @NotNull Map<ConfigurationHolder, FileFingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final @NotNull Map<ConfigurationHolder, CompletableFuture<ConfigurationHolder>> loading = new ConcurrentHashMap<>();
+    private volatile @Nullable ConfigurationWatcher watcher;
+    private volatile int lastSkippedCount;
+    private volatile int lastParsedCount;
+    private volatile boolean instrumented;
+    private volatile @Nullable Consumer<ConfigurationLoadReport.FileLoad> loadListener;
+    private volatile @Nullable ConfigurationLoadReport lastLoadReport;
+    private @Nullable Scheduled autoSave;
+    private volatile @NotNull ConsoleLogger<?> logger = ConsoleLogger.simpleLogger("[EpicPluginLib] ");
 
     public ConfigurationManager(@NotNull CustomSerializer<?> @Nullable ... customSerializers)
     {
         loader = new YamlConfigurationLoader(customSerializers);
+        defaultsCache = new DefaultConfigurationCache(loader);
     }
 
     /**
@@ -61,7 +88,7 @@ public class ConfigurationManager
      */
     public void registerConfiguration(@NotNull ConfigurationHolder configuration)
     {
-        configurations.put(configuration, dummyMinMaxVersion);
+        registerConfiguration(configuration, (ComparableVersion) null, null);
     }
 
     /**
@@ -96,6 +123,26 @@ public class ConfigurationManager
      * @see #loadConfigurations()
      */
     public void registerConfiguration(@NotNull ConfigurationHolder configuration, @Nullable ComparableVersion minimumVersion, @Nullable ComparableVersion maximumVersion)
+    {
+        registerConfiguration(configuration, minimumVersion, maximumVersion, null);
+    }
+
+    /**
+     * Registers a {@link ConfigurationHolder} to have its {@link ConfigurationHolder#config()} value updated
+     * on {@link #loadConfigurations()}.
+     * <p>
+     * Configurations can have minimum or maximum versions. Configurations that don't have "Version" key or are older
+     * than the minimum version will be migrated by the specified {@link ConfigurationMigrator}, keeping the values set
+     * by the user. If no migrator is specified, the configuration could not be parsed, or the configuration is newer
+     * than the maximum version, the configuration is restored to its default values.
+     *
+     * @param configuration  The configuration to be updated on {@link #loadConfigurations()}.
+     * @param minimumVersion The minimum version this configuration can have to not be migrated.
+     * @param maximumVersion The maximum version this configuration can have to not be migrated.
+     * @param migrator       The migrator to merge outdated configurations with the default configuration.
+     * @see #loadConfigurations()
+     */
+    public void registerConfiguration(@NotNull ConfigurationHolder configuration, @Nullable ComparableVersion minimumVersion, @Nullable ComparableVersion maximumVersion, @Nullable ConfigurationMigrator migrator)
     {
         ComparableVersion[] minMaxVersion;
 
@@ -106,6 +153,17 @@ public class ConfigurationManager
         }
 
         configurations.put(configuration, minMaxVersion);
+
+        if (migrator == null) {
+            migrators.remove(configuration);
+        } else {
+            migrators.put(configuration, migrator);
+        }
+        // Version range might have changed, so the file must be checked again.
+        fingerprints.remove(configuration);
+
+        ConfigurationWatcher watcher = this.watcher;
+        if (watcher != null) watch(watcher, configuration, null);
     }
 
     /**
@@ -116,7 +174,12 @@ public class ConfigurationManager
      */
     public void unregisterConfiguration(@NotNull ConfigurationHolder configuration)
     {
-        configurations.remove(configuration);
+        if (configurations.remove(configuration) == null) return;
+        migrators.remove(configuration);
+        fingerprints.remove(configuration);
+
+        ConfigurationWatcher watcher = this.watcher;
+        if (watcher != null) watcher.unwatch(configuration);
     }
 
     /**
@@ -136,55 +199,611 @@ public class ConfigurationManager
      * <p>
      * This method also updates the value from the method {@link ConfigurationHolder#config()} to the current
      * {@link Configuration} values that were set by the user on the {@link Path} specified on {@link ConfigurationHolder#path()}.
+     * <p>
+     * Files that are unchanged since the last time they were loaded by this manager are skipped, and their holders keep
+     * the current {@link Configuration} instance. The amount of skipped and parsed files can be obtained through
+     * {@link #lastSkippedCount()} and {@link #lastParsedCount()}. If loads are {@link #setInstrumented(boolean)}, a
+     * breakdown of the time spent on each file is available through {@link #lastLoadReport()}.
+     *
+     * <p>
+     * This method blocks until every configuration is loaded. To load configurations without blocking the caller, use
+     * {@link #loadConfigurationsAsync(Executor)}.
      *
      * @return A map with thrown exceptions.
+     * @see FileFingerprint
      */
     public @NotNull Map<ConfigurationHolder, Exception> loadConfigurations()
     {
         Map<ConfigurationHolder, Exception> exceptions = new ConcurrentHashMap<>((int) (configurations.size() / .75f) + 1);
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicInteger parsed = new AtomicInteger();
+        Queue<ConfigurationLoadReport.FileLoad> records = instrumented ? new ConcurrentLinkedQueue<>() : null;
+        long start = System.nanoTime();
 
         configurations.entrySet().stream().parallel().forEach(configurationEntry -> {
             ConfigurationHolder config = configurationEntry.getKey();
-            Path path = config.path();
-            ComparableVersion[] minAndMaxVersions = configurationEntry.getValue();
+            ConfigurationLoadReport.FileLoad record = new ConfigurationLoadReport.FileLoad(config);
+            if (records != null) records.add(record);
+
+            try {
+                if (load(config, configurationEntry.getValue(), record, true)) {
+                    parsed.incrementAndGet();
+                } else {
+                    skipped.incrementAndGet();
+                }
+            } catch (InvalidConfigurationException | IOException | RuntimeException e) {
+                exceptions.put(config, e);
+            }
+        });
 
-            try (PathLocker.LockToken ignored = PathLocker.lock(path)) {
-                Configuration configuration = null;
-                boolean save = false;
+        lastSkippedCount = skipped.get();
+        lastParsedCount = parsed.get();
+        if (records != null) lastLoadReport = new ConfigurationLoadReport(new ArrayList<>(records), System.nanoTime() - start);
 
-                if (Files.exists(path)) {
-                    if (minAndMaxVersions != dummyMinMaxVersion) {
-                        ComparableVersion version = null;
+        // Directories of new configurations might have just been created.
+        watchAll(exceptions);
 
-                        try {
-                            configuration = loader.load(path);
-                            Optional<Object> versionOptional = configuration.getObject("Version");
+        return exceptions;
+    }
 
-                            if (versionOptional.isPresent())
-                                version = new ComparableVersion(versionOptional.get().toString());
-                        } catch (InvalidConfigurationException | IllegalArgumentException | IOException ignored1) {
-                        }
+    /**
+     * Loads a single registered {@link ConfigurationHolder}, the same way {@link #loadConfigurations()} does.
+     *
+     * @param configuration The registered configuration to load.
+     * @return The exception thrown while loading, or null if the configuration was loaded successfully.
+     * @throws IllegalArgumentException If the configuration is not registered in this manager.
+     */
+    public @Nullable Exception loadConfiguration(@NotNull ConfigurationHolder configuration)
+    {
+        return loadConfiguration(configuration, true);
+    }
+
+    /**
+     * Loads a holder whose file is known to have changed, such as one reported by the watcher. The contents are always
+     * hashed, since edits within the granularity of the last modified time of the file system keep the same attributes.
+     *
+     * @param configuration The registered configuration to load.
+     * @return The exception thrown while loading, or null if the configuration was loaded successfully.
+     */
+    @Nullable Exception reloadChanged(@NotNull ConfigurationHolder configuration)
+    {
+        return loadConfiguration(configuration, false);
+    }
+
+    private @Nullable Exception loadConfiguration(@NotNull ConfigurationHolder configuration, boolean trustAttributes)
+    {
+        ComparableVersion[] minAndMaxVersions = configurations.get(configuration);
+        if (minAndMaxVersions == null)
+            throw new IllegalArgumentException("Configuration " + configuration.path() + " is not registered.");
+
+        try {
+            load(configuration, minAndMaxVersions, new ConfigurationLoadReport.FileLoad(configuration), trustAttributes);
+            return null;
+        } catch (InvalidConfigurationException | IOException | RuntimeException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Loads every registered {@link ConfigurationHolder} asynchronously, the same way {@link #loadConfigurations()}
+     * does. Each holder is loaded in its own task submitted to the executor, so holders complete independently from
+     * each other, and {@link #whenLoaded(ConfigurationHolder)} can be used to wait only for the holders that are needed.
+     *
+     * @param executor The executor to run the loading tasks.
+     * @return A future that completes with a map of thrown exceptions once every holder finished loading.
+     */
+    public @NotNull CompletableFuture<Map<ConfigurationHolder, Exception>> loadConfigurationsAsync(@NotNull Executor executor)
+    {
+        Map<ConfigurationHolder, Exception> exceptions = new ConcurrentHashMap<>((int) (configurations.size() / .75f) + 1);
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicInteger parsed = new AtomicInteger();
+        ArrayList<CompletableFuture<?>> futures = new ArrayList<>(configurations.size());
+        Queue<ConfigurationLoadReport.FileLoad> records = instrumented ? new ConcurrentLinkedQueue<>() : null;
+        long start = System.nanoTime();
+
+        for (Map.Entry<ConfigurationHolder, ComparableVersion[]> configurationEntry : configurations.entrySet()) {
+            ConfigurationHolder config = configurationEntry.getKey();
+            ConfigurationLoadReport.FileLoad record = new ConfigurationLoadReport.FileLoad(config);
+            if (records != null) records.add(record);
+
+            futures.add(loadAsync(config, configurationEntry.getValue(), record, executor).handle((loaded, throwable) -> {
+                if (throwable == null) {
+                    (loaded ? parsed : skipped).incrementAndGet();
+                } else {
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                    exceptions.put(config, cause instanceof Exception ? (Exception) cause : new CompletionException(cause));
+                }
+                return null;
+            }));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            lastSkippedCount = skipped.get();
+            lastParsedCount = parsed.get();
+            if (records != null) lastLoadReport = new ConfigurationLoadReport(new ArrayList<>(records), System.nanoTime() - start);
+
+            // Directories of new configurations might have just been created.
+            watchAll(exceptions);
+
+            return exceptions;
+        });
+    }
+
+    /**
+     * Loads every registered {@link ConfigurationHolder} asynchronously using the specified task factory.
+     *
+     * @param async The task factory to run the loading tasks.
+     * @return A future that completes with a map of thrown exceptions once every holder finished loading.
+     * @see #loadConfigurationsAsync(Executor)
+     */
+    public @NotNull CompletableFuture<Map<ConfigurationHolder, Exception>> loadConfigurationsAsync(@NotNull TaskFactory.Async async)
+    {
+        return loadConfigurationsAsync(runnable -> async.delayed(0, scheduled -> runnable.run()));
+    }
+
+    /**
+     * Loads a single registered {@link ConfigurationHolder} asynchronously, the same way {@link #loadConfigurations()}
+     * does.
+     *
+     * @param configuration The registered configuration to load.
+     * @param executor      The executor to run the loading task.
+     * @return A future that completes with the holder once it's loaded, or exceptionally with the thrown exception.
+     * @throws IllegalArgumentException If the configuration is not registered in this manager.
+     */
+    public @NotNull CompletableFuture<ConfigurationHolder> loadConfigurationAsync(@NotNull ConfigurationHolder configuration, @NotNull Executor executor)
+    {
+        ComparableVersion[] minAndMaxVersions = configurations.get(configuration);
+        if (minAndMaxVersions == null)
+            throw new IllegalArgumentException("Configuration " + configuration.path() + " is not registered.");
+
+        return loadAsync(configuration, minAndMaxVersions, new ConfigurationLoadReport.FileLoad(configuration), executor).thenApply(loaded -> configuration);
+    }
+
+    /**
+     * Gets a future that completes once the asynchronous load of this holder started by
+     * {@link #loadConfigurationsAsync(Executor)} or {@link #loadConfigurationAsync(ConfigurationHolder, Executor)}
+     * finishes. If the holder is not being loaded asynchronously, an already completed future is returned.
+     *
+     * @param configuration The configuration to wait for.
+     * @return A future that completes with the holder once it's loaded, or exceptionally with the thrown exception.
+     */
+    public @NotNull CompletableFuture<ConfigurationHolder> whenLoaded(@NotNull ConfigurationHolder configuration)
+    {
+        CompletableFuture<ConfigurationHolder> future = loading.get(configuration);
+        return future == null ? CompletableFuture.completedFuture(configuration) : future;
+    }
+
+    private @NotNull CompletableFuture<Boolean> loadAsync(@NotNull ConfigurationHolder config, @NotNull ComparableVersion @NotNull [] minAndMaxVersions, @NotNull ConfigurationLoadReport.FileLoad record, @NotNull Executor executor)
+    {
+        CompletableFuture<ConfigurationHolder> pending = new CompletableFuture<>();
+        loading.put(config, pending);
+
+        CompletableFuture<Boolean> future;
+
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return load(config, minAndMaxVersions, record, true);
+                } catch (InvalidConfigurationException | IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            // The executor rejected the task, so it would never complete the pending future.
+            record.outcome = ConfigurationLoadReport.Outcome.FAILED;
+            record.exception = e;
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+
+        future.whenComplete((loaded, throwable) -> {
+            loading.remove(config, pending);
+
+            if (throwable == null) {
+                pending.complete(config);
+            } else {
+                pending.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Opens a {@link YamlSectionReader} for the file in the path, which parses the sections of the file one at a time
+     * using the loader of this manager. Use it for data files that are too large to be loaded as a whole.
+     *
+     * @param path The path of the YAML file.
+     * @return A reader for the top-level sections of the file.
+     * @throws IOException If the file could not be opened.
+     */
+    public @NotNull YamlSectionReader sectionReader(@NotNull Path path) throws IOException
+    {
+        return new YamlSectionReader(path, loader);
+    }
+
+    /**
+     * @return The amount of files that were skipped for being unchanged on the last {@link #loadConfigurations()}.
+     */
+    public int lastSkippedCount()
+    {
+        return lastSkippedCount;
+    }
+
+    /**
+     * @return The amount of files that were parsed on the last {@link #loadConfigurations()}.
+     */
+    public int lastParsedCount()
+    {
+        return lastParsedCount;
+    }
+
+    /**
+     * Forgets the fingerprints of all files, so the next {@link #loadConfigurations()} parses every file again, even
+     * the ones that did not change.
+     */
+    public void clearFingerprints()
+    {
+        fingerprints.clear();
+    }
+
+    /**
+     * Sets whether loads should be instrumented. When instrumented, {@link #loadConfigurations()} and
+     * {@link #loadConfigurationsAsync(Executor)} record the bytes read, the read, parse, and lock wait times, and the
+     * outcome of every file into a {@link ConfigurationLoadReport}, available through {@link #lastLoadReport()}.
+     *
+     * @param instrumented Whether loads should be instrumented.
+     */
+    public void setInstrumented(boolean instrumented)
+    {
+        this.instrumented = instrumented;
+        if (!instrumented) lastLoadReport = null;
+    }
+
+    /**
+     * @return Whether loads are instrumented.
+     * @see #setInstrumented(boolean)
+     */
+    public boolean isInstrumented()
+    {
+        return instrumented;
+    }
+
+    /**
+     * Sets a listener that is called with the record of every file once its load finishes, including single loads and
+     * reloads by the watcher. The listener is only called while {@link #isInstrumented()}, and it may be called by
+     * multiple threads at the same time. Use it to forward the records to a profiler, such as JFR events.
+     *
+     * @param loadListener The listener of file loads, null to remove.
+     */
+    public void setLoadListener(@Nullable Consumer<ConfigurationLoadReport.FileLoad> loadListener)
+    {
+        this.loadListener = loadListener;
+    }
+
+    /**
+     * @return The report of the last instrumented {@link #loadConfigurations()}, or null if loads are not instrumented.
+     */
+    public @Nullable ConfigurationLoadReport lastLoadReport()
+    {
+        return lastLoadReport;
+    }
+
+    /**
+     * @return The logger of errors that can't be returned to the caller, such as the ones thrown in the watcher thread.
+     */
+    public @NotNull ConsoleLogger<?> logger()
+    {
+        return logger;
+    }
+
+    /**
+     * Sets the logger of errors that can't be returned to the caller, such as the ones thrown in the watcher thread. A
+     * simple logger that prints to the standard output is used by default.
+     *
+     * @param logger The logger of this manager.
+     */
+    public void setLogger(@NotNull ConsoleLogger<?> logger)
+    {
+        this.logger = logger;
+    }
+
+    /**
+     * Starts watching the parent directories of registered {@link ConfigurationHolder}s for changes. Once a file is
+     * changed, only the holder of that file is loaded again, in the same way {@link #loadConfigurations()} does.
+     * <p>
+     * Changes are debounced, so multiple changes to the same file within the debounce time cause a single reload.
+     * Reloads happen on a separate daemon thread, and the onReload consumer is also called on that thread. Unexpected
+     * exceptions thrown by reloads or by the consumer are logged to {@link #logger()}, and watching goes on. Directories
+     * that don't exist yet will be watched once they are created by {@link #loadConfigurations()}, which returns the
+     * failures to watch them in its map of exceptions. Other failures to watch are logged to {@link #logger()}.
+     * Directories are no longer watched once every holder in them is unregistered.
+     * <p>
+     * Watching stops when {@link #stopWatching()} is called. If this manager was already watching, the previous watcher
+     * is stopped and replaced.
+     *
+     * @param debounceMillis The time in milliseconds a file must stay unchanged before being reloaded.
+     * @param onReload       A consumer accepting the exceptions thrown by the holders reloaded by the watcher.
+     * @throws IOException If the watch service could not be created.
+     */
+    public synchronized void startWatching(long debounceMillis, @Nullable Consumer<Map<ConfigurationHolder, Exception>> onReload) throws IOException
+    {
+        stopWatching();
+
+        ConfigurationWatcher watcher = new ConfigurationWatcher(this, debounceMillis, onReload);
+        for (ConfigurationHolder configuration : configurations.keySet()) watch(watcher, configuration, null);
+        watcher.start();
+        this.watcher = watcher;
+    }
+
+    private void watchAll(@NotNull Map<ConfigurationHolder, Exception> exceptions)
+    {
+        ConfigurationWatcher watcher = this.watcher;
+        if (watcher == null) return;
+
+        for (ConfigurationHolder configuration : configurations.keySet()) watch(watcher, configuration, exceptions);
+    }
+
+    /**
+     * Watches the directory of the holder, reporting the failure in the exceptions map, or logging it if there's no map
+     * to report to. A directory that can't be watched doesn't prevent the others from being watched.
+     */
+    private void watch(@NotNull ConfigurationWatcher watcher, @NotNull ConfigurationHolder configuration, @Nullable Map<ConfigurationHolder, Exception> exceptions)
+    {
+        try {
+            watcher.watch(configuration);
+        } catch (RuntimeException e) {
+            if (exceptions != null) {
+                // The exception of the load is more relevant to the caller.
+                exceptions.putIfAbsent(configuration, e);
+            } else {
+                logger.log("Unable to watch configuration " + configuration.path() + ": " + e, ConsoleLogger.Level.WARN);
+            }
+        }
+    }
+
+    /**
+     * Stops watching the directories of registered {@link ConfigurationHolder}s, if {@link #startWatching(long, Consumer)}
+     * was called.
+     */
+    public synchronized void stopWatching()
+    {
+        ConfigurationWatcher watcher = this.watcher;
+        if (watcher == null) return;
+
+        this.watcher = null;
+        watcher.stop();
+    }
+
+    /**
+     * @return Whether the files of registered configurations are being watched for changes.
+     * @see #startWatching(long, Consumer)
+     */
+    public boolean isWatching()
+    {
+        return watcher != null;
+    }
+
+    /**
+     * Saves every registered {@link ConfigurationHolder} that was {@link ConfigurationHolder#markDirty()} since it was
+     * last saved, in the calling thread. Each file is written once, however many times it was marked dirty, and its
+     * contents are replaced atomically while holding the {@link PathLocker} lock of the file.
+     * <p>
+     * The contents written are the ones dumped when the holder was last marked dirty, so configurations can be modified
+     * by other threads while they're being saved. Holders that fail to be saved are kept dirty, so they are saved again
+     * on the next call.
+     *
+     * @return A map with thrown exceptions.
+     */
+    public synchronized @NotNull Map<ConfigurationHolder, Exception> saveDirtyConfigurations()
+    {
+        Map<ConfigurationHolder, Exception> exceptions = new HashMap<>(4);
+
+        for (ConfigurationHolder config : configurations.keySet()) {
+            String contents = config.clearDirty();
+            if (contents == null) continue;
+
+            try {
+                save(config, contents);
+            } catch (IOException | RuntimeException e) {
+                config.restoreDirty(contents);
+                exceptions.put(config, e);
+            }
+        }
+
+        return exceptions;
+    }
 
-                        // Set save to true if Version is not within accepted range.
-                        if (version == null || ((minAndMaxVersions[0] != null && version.compareTo(minAndMaxVersions[0]) < 0) || (minAndMaxVersions[1] != null && version.compareTo(minAndMaxVersions[1]) > 0))) {
+    private void save(@NotNull ConfigurationHolder config, @NotNull String dumped) throws IOException
+    {
+        Path path = config.path();
+        byte[] contents = dumped.getBytes(StandardCharsets.UTF_8);
+
+        try (PathLocker.LockToken ignored = PathLocker.lockExclusive(path)) {
+            PathUtils.writeAtomically(contents, path, true);
+            // So the next load and the watcher don't parse the file that was just saved.
+            fingerprints.put(config, FileFingerprint.of(Files.readAttributes(path, BasicFileAttributes.class), contents));
+        }
+    }
+
+    /**
+     * Starts a repeating asynchronous task that saves the dirty configurations of this manager in the specified
+     * interval, using {@link #saveDirtyConfigurations()}. If auto save was already started, the previous task is
+     * cancelled and replaced.
+     * <p>
+     * Remember to call {@link #stopAutoSave()} when your plugin disables, so the last modifications are saved.
+     *
+     * @param async         The task factory used to schedule the saves.
+     * @param intervalTicks The interval in ticks between saves.
+     * @param onError       A consumer accepting the exceptions thrown by the holders that failed to be saved.
+     */
+    public synchronized void startAutoSave(@NotNull TaskFactory.Async async, long intervalTicks, @Nullable Consumer<Map<ConfigurationHolder, Exception>> onError)
+    {
+        if (autoSave != null) autoSave.cancel();
+
+        autoSave = async.repeating(intervalTicks, intervalTicks, scheduled -> {
+            Map<ConfigurationHolder, Exception> exceptions = saveDirtyConfigurations();
+            if (onError != null && !exceptions.isEmpty()) onError.accept(exceptions);
+        });
+    }
+
+    /**
+     * Cancels the task started by {@link #startAutoSave(TaskFactory.Async, long, Consumer)}, and saves the dirty
+     * configurations in the calling thread.
+     *
+     * @return A map with thrown exceptions.
+     */
+    public synchronized @NotNull Map<ConfigurationHolder, Exception> stopAutoSave()
+    {
+        if (autoSave != null) {
+            autoSave.cancel();
+            autoSave = null;
+        }
+
+        return saveDirtyConfigurations();
+    }
+
+    /**
+     * Loads a single {@link ConfigurationHolder}, restoring its file to the default contents in case it's outdated
+     * or inexistent. The holder is skipped if the fingerprint of its file did not change since the last load.
+     *
+     * @param config            The holder to load.
+     * @param minAndMaxVersions The accepted version range of this holder.
+     * @param record            The record to write the times and outcome of this load.
+     * @return Whether the file was parsed, false if it was skipped for being unchanged.
+     * @throws InvalidConfigurationException If the file has an invalid YAML syntax.
+     * @throws IOException                   If the file could not be read or written.
+     */
+    private boolean load(@NotNull ConfigurationHolder config, @NotNull ComparableVersion @NotNull [] minAndMaxVersions, @NotNull ConfigurationLoadReport.FileLoad record, boolean trustAttributes) throws InvalidConfigurationException, IOException
+    {
+        long start = System.nanoTime();
+
+        try {
+            return loadFile(config, minAndMaxVersions, record, trustAttributes);
+        } catch (InvalidConfigurationException | IOException | RuntimeException e) {
+            record.outcome = ConfigurationLoadReport.Outcome.FAILED;
+            record.exception = e;
+            throw e;
+        } finally {
+            record.totalNanos = System.nanoTime() - start;
+            Consumer<ConfigurationLoadReport.FileLoad> loadListener = this.loadListener;
+            if (instrumented && loadListener != null) loadListener.accept(record);
+        }
+    }
+
+    private boolean loadFile(@NotNull ConfigurationHolder config, @NotNull ComparableVersion @NotNull [] minAndMaxVersions, @NotNull ConfigurationLoadReport.FileLoad record, boolean trustAttributes) throws InvalidConfigurationException, IOException
+    {
+        Path path = config.path();
+
+        try (PathLocker.LockToken token = PathLocker.lockExclusive(path)) {
+            record.lockWaitNanos = token.waitNanos();
+            Configuration configuration = null;
+            FileFingerprint fingerprint = null;
+            String text = null;
+            boolean save = false;
+
+            if (Files.exists(path)) {
+                long readStart = System.nanoTime();
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                FileFingerprint previous = fingerprints.get(config);
+
+                if (trustAttributes && previous != null && previous.matches(attributes)) {
+                    record.readNanos = System.nanoTime() - readStart;
+                    record.outcome = ConfigurationLoadReport.Outcome.SKIPPED;
+                    return false;
+                }
+
+                byte[] bytes = Files.readAllBytes(path);
+                record.readNanos = System.nanoTime() - readStart;
+                record.bytesRead = bytes.length;
+                fingerprint = FileFingerprint.of(attributes, bytes);
+
+                if (fingerprint.sameContents(previous)) {
+                    // Only the modified time changed.
+                    fingerprints.put(config, fingerprint);
+                    record.outcome = ConfigurationLoadReport.Outcome.SKIPPED;
+                    return false;
+                }
+
+                text = new String(bytes, StandardCharsets.UTF_8);
+
+                if (minAndMaxVersions != dummyMinMaxVersion) {
+                    ComparableVersion version = null;
+
+                    try {
+                        configuration = parse(text, record);
+                        Optional<Object> versionOptional = configuration.getObject("Version");
+
+                        if (versionOptional.isPresent())
+                            version = new ComparableVersion(versionOptional.get().toString());
+                    } catch (InvalidConfigurationException | IllegalArgumentException ignored1) {
+                    }
+
+                    // Migrate or set save to true if Version is not within accepted range.
+                    if (version == null || ((minAndMaxVersions[0] != null && version.compareTo(minAndMaxVersions[0]) < 0) || (minAndMaxVersions[1] != null && version.compareTo(minAndMaxVersions[1]) > 0))) {
+                        ConfigurationMigrator migrator = migrators.get(config);
+                        // Only older configurations can be migrated, newer ones are restored as they were before migrators.
+                        boolean older = version == null || (minAndMaxVersions[0] != null && version.compareTo(minAndMaxVersions[0]) < 0);
+
+                        if (migrator != null && configuration != null && older) {
+                            migrator.migrate(configuration, version, config.defaultConfig());
+
+                            byte[] migrated = loader.dump(configuration).getBytes(StandardCharsets.UTF_8);
+                            PathUtils.writeAtomically(migrated, path, true);
+                            fingerprint = FileFingerprint.of(Files.readAttributes(path, BasicFileAttributes.class), migrated);
+                            record.outcome = ConfigurationLoadReport.Outcome.MIGRATED;
+                        } else {
                             Files.move(path, PathUtils.getUniquePath(path.getParent().resolve("outdated " + path.getFileName().toString())));
                             save = true;
+                            record.outcome = ConfigurationLoadReport.Outcome.RESTORED;
                         }
                     }
-                } else if (Files.notExists(path)) save = true;
+                }
+            } else if (Files.notExists(path)) {
+                save = true;
+                record.outcome = ConfigurationLoadReport.Outcome.CREATED;
+            }
 
-                if (save) PathUtils.write(config.contents(), path);
+            if (save) {
+                text = config.contents();
+                byte[] contents = text.getBytes(StandardCharsets.UTF_8);
+                PathUtils.write(contents, path);
+                fingerprint = FileFingerprint.of(Files.readAttributes(path, BasicFileAttributes.class), contents);
+            }
 
-                if (configuration != null && !save) {
-                    config.setConfig(configuration);
-                } else {
-                    config.setConfig(loader.load(path));
+            if (configuration == null || save) {
+                if (text == null) {
+                    long readStart = System.nanoTime();
+                    byte[] bytes = Files.readAllBytes(path);
+                    record.readNanos += System.nanoTime() - readStart;
+                    record.bytesRead = bytes.length;
+                    text = new String(bytes, StandardCharsets.UTF_8);
                 }
-            } catch (InvalidConfigurationException | IOException e) {
-                exceptions.put(config, e);
+
+                // The contents are parsed from memory, as they were either just read or just written.
+                configuration = parse(text, record);
             }
-        });
 
-        return exceptions;
+            // The file is loaded even if change listeners fail, so it's not loaded again until it changes.
+            if (fingerprint != null) fingerprints.put(config, fingerprint);
+            config.setConfig(configuration, fingerprint);
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses contents already in memory, adding the time spent to the parse time of the record. Disk reads are
+     * accounted separately as read time.
+     */
+    private @NotNull Configuration parse(@NotNull String text, @NotNull ConfigurationLoadReport.FileLoad record) throws InvalidConfigurationException
+    {
+        long start = System.nanoTime();
+
+        try {
+            return loader.load(text);
+        } finally {
+            record.parseNanos += System.nanoTime() - start;
+        }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import com.epicnicity322.yamlhandler.Configuration;
+import com.epicnicity322.yamlhandler.ConfigurationSection;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Migrates outdated configurations by merging them with the default configuration, instead of replacing them.
+ * <p>
+ * When a configuration registered with a migrator is older than the accepted version range,
+ * {@link ConfigurationManager} applies the transforms of every version above the configuration's version in ascending
+ * order, adds the keys that are missing from the {@link ConfigurationHolder#defaultConfig()}, updates the "Version"
+ * key, and writes the result to the file in a single atomic write. The values set by the user are kept. Configurations
+ * newer than the accepted range are not migrated.
+ * <p>
+ * Comments of the file are not kept, since the configuration is written from the parsed values.
+ *
+ * @see ConfigurationManager#registerConfiguration(ConfigurationHolder, ComparableVersion, ComparableVersion, ConfigurationMigrator)
+ */
+public final class ConfigurationMigrator
+{
+    private final @NotNull TreeMap<ComparableVersion, Consumer<Configuration>> transforms = new TreeMap<>();
+
+    /**
+     * Registers a transform to be applied to configurations with a version lower than the specified version. Use
+     * transforms to rename or move keys, or to change values that had their meaning changed.
+     *
+     * @param version   The version this transform upgrades the configuration to.
+     * @param transform The transform that modifies the configuration.
+     * @return This migrator.
+     */
+    public synchronized @NotNull ConfigurationMigrator transform(@NotNull ComparableVersion version, @NotNull Consumer<Configuration> transform)
+    {
+        transforms.merge(version, transform, Consumer::andThen);
+        return this;
+    }
+
+    /**
+     * Migrates the configuration to the version of the default configuration.
+     *
+     * @param configuration The outdated configuration, which is modified by this method.
+     * @param version       The version of the outdated configuration, null if it has no version.
+     * @param defaults      The default configuration to merge the missing keys from.
+     */
+    synchronized void migrate(@NotNull Configuration configuration, @Nullable ComparableVersion version, @NotNull Configuration defaults)
+    {
+        Map<ComparableVersion, Consumer<Configuration>> toApply = version == null ? transforms : transforms.tailMap(version, false);
+
+        for (Consumer<Configuration> transform : toApply.values()) transform.accept(configuration);
+
+        for (Map.Entry<String, Object> node : defaults.getAbsoluteNodes().entrySet()) {
+            // Sections are created by setting their missing children.
+            if (node.getValue() instanceof ConfigurationSection) continue;
+            if (configuration.getObject(node.getKey()).isPresent()) continue;
+
+            Object value = node.getValue();
+            // Default configurations are shared, so mutable values must be copied.
+            if (value instanceof Collection) value = new ArrayList<>((Collection<?>) value);
+            configuration.set(node.getKey(), value);
+        }
+
+        defaults.getObject("Version").ifPresent(defaultVersion -> configuration.set("Version", defaultVersion));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import com.epicnicity322.epicpluginlib.core.logger.ConsoleLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches the parent directories of the {@link ConfigurationHolder}s registered in a {@link ConfigurationManager}, and
+ * reloads only the holders whose files were changed.
+ * <p>
+ * Events are debounced, so a burst of changes in the same file, like the ones made by text editors when saving, causes
+ * only one reload. Reloads happen in the watcher's own daemon thread.
+ *
+ * @see ConfigurationManager#startWatching(long, Consumer)
+ */
+final class ConfigurationWatcher implements Runnable
+{
+    private final @NotNull ConfigurationManager manager;
+    private final @NotNull WatchService service;
+    private final long debounceMillis;
+    private final @Nullable Consumer<Map<ConfigurationHolder, Exception>> onReload;
+    private final @NotNull Map<Path, WatchKey> directories = new ConcurrentHashMap<>();
+    // Only accessed by the watcher thread.
+    private final @NotNull HashMap<Path, Long> pending = new HashMap<>();
+    private final @NotNull Thread thread;
+
+    ConfigurationWatcher(@NotNull ConfigurationManager manager, long debounceMillis, @Nullable Consumer<Map<ConfigurationHolder, Exception>> onReload) throws IOException
+    {
+        this.manager = manager;
+        this.service = FileSystems.getDefault().newWatchService();
+        this.debounceMillis = Math.max(0, debounceMillis);
+        this.onReload = onReload;
+        this.thread = new Thread(this, "EpicPluginLib Configuration Watcher");
+        thread.setDaemon(true);
+    }
+
+    private static @NotNull Path normalize(@NotNull Path path)
+    {
+        return path.toAbsolutePath().normalize();
+    }
+
+    void start()
+    {
+        thread.start();
+    }
+
+    void stop()
+    {
+        try {
+            service.close();
+        } catch (IOException ignored) {
+        }
+        thread.interrupt();
+    }
+
+    /**
+     * Starts watching the parent directory of this holder, if it's not being watched already. Directories that don't
+     * exist yet are ignored.
+     *
+     * @param holder The holder to watch the directory of.
+     */
+    void watch(@NotNull ConfigurationHolder holder)
+    {
+        Path directory = normalize(holder.path()).getParent();
+        if (directory == null || directories.containsKey(directory) || !Files.isDirectory(directory)) return;
+
+        try {
+            directories.put(directory, directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY));
+        } catch (ClosedWatchServiceException ignored) {
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to watch directory " + directory, e);
+        }
+    }
+
+    /**
+     * Stops watching the parent directory of this holder, unless other registered holders are in the same directory.
+     *
+     * @param holder The holder that is no longer registered.
+     */
+    void unwatch(@NotNull ConfigurationHolder holder)
+    {
+        Path directory = normalize(holder.path()).getParent();
+        if (directory == null) return;
+
+        for (ConfigurationHolder registered : manager.configurations()) {
+            if (directory.equals(normalize(registered.path()).getParent())) return;
+        }
+
+        WatchKey key = directories.remove(directory);
+        if (key != null) key.cancel();
+    }
+
+    @Override
+    public void run()
+    {
+        try {
+            while (true) {
+                WatchKey key;
+
+                if (pending.isEmpty()) {
+                    key = service.take();
+                } else {
+                    key = service.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                }
+
+                if (key != null) {
+                    Path directory = (Path) key.watchable();
+                    long now = System.currentTimeMillis();
+
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // Events were lost, every holder in this directory might have changed.
+                            for (ConfigurationHolder holder : manager.configurations()) {
+                                Path path = normalize(holder.path());
+                                if (directory.equals(path.getParent())) pending.put(path, now);
+                            }
+                        } else {
+                            pending.put(directory.resolve((Path) event.context()), now);
+                        }
+                    }
+
+                    if (!key.reset()) directories.remove(directory, key);
+                }
+
+                try {
+                    reloadSettled();
+                } catch (RuntimeException e) {
+                    // A failing reload or listener must not stop the watcher.
+                    manager.logger().log("Unable to reload changed configurations: " + e, ConsoleLogger.Level.ERROR);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Watcher was stopped.
+        }
+    }
+
+    /**
+     * Reloads the holders whose files have not received any event within the debounce time.
+     */
+    private void reloadSettled()
+    {
+        if (pending.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        HashSet<Path> settled = new HashSet<>();
+
+        for (Iterator<Map.Entry<Path, Long>> iterator = pending.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<Path, Long> entry = iterator.next();
+
+            if (now - entry.getValue() >= debounceMillis) {
+                settled.add(entry.getKey());
+                iterator.remove();
+            }
+        }
+
+        if (settled.isEmpty()) return;
+
+        Map<ConfigurationHolder, Exception> exceptions = new HashMap<>(4);
+        boolean reloaded = false;
+
+        for (ConfigurationHolder holder : manager.configurations()) {
+            if (!settled.contains(normalize(holder.path()))) continue;
+
+            Exception exception = manager.reloadChanged(holder);
+            if (exception != null) exceptions.put(holder, exception);
+            reloaded = true;
+        }
+
+        if (reloaded && onReload != null) onReload.accept(exceptions);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import com.epicnicity322.yamlhandler.Configuration;
+import com.epicnicity322.yamlhandler.ConfigurationSection;
+import com.epicnicity322.yamlhandler.exceptions.InvalidConfigurationException;
+import com.epicnicity322.yamlhandler.loaders.YamlConfigurationLoader;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * A cache of default configurations parsed by the {@link YamlConfigurationLoader} of a {@link ConfigurationManager}.
+ * Holders of the manager with identical default contents share the same parsed {@link Configuration} instance.
+ * <p>
+ * Entries are keyed by the length and a hash of the contents. Parsed configurations are only weakly referenced by the
+ * cache, so entries are evicted once every holder using them is garbage collected, whether it was registered or not.
+ */
+final class DefaultConfigurationCache
+{
+    final @NotNull YamlConfigurationLoader loader;
+    private final @NotNull ConcurrentHashMap<Long, Entry> parsed = new ConcurrentHashMap<>();
+    private final @NotNull ReferenceQueue<Configuration> collected = new ReferenceQueue<>();
+
+    DefaultConfigurationCache(@NotNull YamlConfigurationLoader loader)
+    {
+        this.loader = loader;
+    }
+
+    private static long key(@NotNull String contents)
+    {
+        CRC32 crc = new CRC32();
+        byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+        crc.update(bytes, 0, bytes.length);
+        return ((long) bytes.length << 32) | crc.getValue();
+    }
+
+    /**
+     * Gets the parsed configuration of these contents, parsing it if no holder is using these contents.
+     *
+     * @param contents The contents of the default configuration.
+     * @return The parsed configuration.
+     * @throws RuntimeException If the contents are not a valid YAML.
+     */
+    @NotNull Configuration get(@NotNull String contents)
+    {
+        expungeCollected();
+        long key = key(contents);
+
+        while (true) {
+            Entry entry = parsed.get(key);
+
+            if (entry != null) {
+                // Different contents with the same key are rare enough to be parsed without caching.
+                if (!entry.contents.equals(contents)) return parse(contents);
+
+                Configuration configuration = entry.get();
+                if (configuration != null) return configuration;
+
+                parsed.remove(key, entry);
+            }
+
+            Configuration configuration = parse(contents);
+            // Parsed by another thread at the same time, the configuration of the first one is used.
+            if (parsed.putIfAbsent(key, new Entry(key, contents, configuration, collected)) == null) return configuration;
+        }
+    }
+
+    private void expungeCollected()
+    {
+        Entry entry;
+
+        while ((entry = (Entry) collected.poll()) != null) parsed.remove(entry.key, entry);
+    }
+
+    /**
+     * Parses the contents with the loader of this cache, without caching.
+     *
+     * @param contents The contents of the configuration.
+     * @return A new parsed configuration.
+     * @throws RuntimeException If the contents are not a valid YAML.
+     */
+    @NotNull Configuration parse(@NotNull String contents)
+    {
+        try {
+            return loader.load(contents);
+        } catch (InvalidConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Copies the values of a parsed configuration into a new configuration, which is cheaper than parsing the contents
+     * again. Lists are copied, so they can be modified without affecting the shared configuration.
+     *
+     * @param configuration The configuration to copy.
+     * @return A new configuration with the same values.
+     */
+    @NotNull Configuration copy(@NotNull Configuration configuration)
+    {
+        Configuration copy = new Configuration(loader);
+
+        for (Map.Entry<String, Object> node : configuration.getAbsoluteNodes().entrySet()) {
+            // Sections are created by setting their children.
+            if (node.getValue() instanceof ConfigurationSection) continue;
+
+            Object value = node.getValue();
+            if (value instanceof Collection) value = new ArrayList<>((Collection<?>) value);
+            copy.set(node.getKey(), value);
+        }
+
+        return copy;
+    }
+
+    private static final class Entry extends WeakReference<Configuration>
+    {
+        private final long key;
+        // The same instance as the contents of the holders, so it's not kept twice.
+        private final @NotNull String contents;
+
+        private Entry(long key, @NotNull String contents, @NotNull Configuration configuration, @NotNull ReferenceQueue<Configuration> queue)
+        {
+            super(configuration, queue);
+            this.key = key;
+            this.contents = contents;
+        }
+    }
+}
\ No newline at end of file
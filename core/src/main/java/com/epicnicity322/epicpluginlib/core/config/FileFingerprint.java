@@ -0,0 +1,146 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32;
+
+/**
+ * An immutable fingerprint of a file, consisting of its size, last modified time and a hash of its contents.
+ * <p>
+ * Fingerprints are used to tell whether a file changed since the last time it was read, without having to parse it
+ * again. The size and last modified time are checked first, as they can be obtained without reading the file.
+ * <p>
+ * Some file systems only store the last modified time in steps of up to 2 seconds, so a file edited again within the
+ * same step keeps the same time. Fingerprints of files modified that close to when the fingerprint was taken never
+ * match by attributes alone, so their contents are hashed again.
+ */
+public final class FileFingerprint
+{
+    /**
+     * The coarsest granularity of last modified times among common file systems, such as FAT.
+     */
+    static final long MODIFIED_TIME_GRANULARITY = 2000;
+    private final long size;
+    private final long lastModified;
+    private final long hash;
+    // When this fingerprint was taken, it's not part of the identity of the file.
+    private final long takenAt;
+
+    private FileFingerprint(long size, long lastModified, long hash, long takenAt)
+    {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+        this.takenAt = takenAt;
+    }
+
+    /**
+     * Reads the attributes and the contents of the file in the path to create a fingerprint.
+     *
+     * @param path The path of the file.
+     * @return The fingerprint of the file, or null if the path is not a regular file.
+     * @throws IOException If the file could not be read.
+     */
+    public static @Nullable FileFingerprint of(@NotNull Path path) throws IOException
+    {
+        if (!Files.isRegularFile(path)) return null;
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return of(attributes, Files.readAllBytes(path));
+    }
+
+    /**
+     * Creates a fingerprint of a file from its already known attributes and contents.
+     *
+     * @param attributes The attributes of the file.
+     * @param contents   The contents of the file.
+     * @return The fingerprint of the file.
+     */
+    public static @NotNull FileFingerprint of(@NotNull BasicFileAttributes attributes, byte @NotNull [] contents)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(contents, 0, contents.length);
+        return new FileFingerprint(attributes.size(), attributes.lastModifiedTime().toMillis(), crc.getValue(), System.currentTimeMillis());
+    }
+
+    /**
+     * Tests whether the size and last modified time of this fingerprint match the specified attributes. If they match,
+     * the file is assumed to be unchanged without having its contents hashed.
+     * <p>
+     * If the file was modified within the granularity of last modified times before this fingerprint was taken, the
+     * file could have been modified again without changing its attributes, so this never matches.
+     *
+     * @param attributes The current attributes of the file.
+     * @return Whether the attributes are the same as the ones of this fingerprint, and can be trusted.
+     */
+    public boolean matches(@NotNull BasicFileAttributes attributes)
+    {
+        return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis()
+                && takenAt - lastModified > MODIFIED_TIME_GRANULARITY;
+    }
+
+    /**
+     * Tests whether the contents of both fingerprints are the same, regardless of the last modified time.
+     *
+     * @param other The fingerprint to compare.
+     * @return Whether the size and hash of both fingerprints are the same.
+     */
+    public boolean sameContents(@Nullable FileFingerprint other)
+    {
+        return other != null && size == other.size && hash == other.hash;
+    }
+
+    public long size()
+    {
+        return size;
+    }
+
+    public long lastModified()
+    {
+        return lastModified;
+    }
+
+    public long hash()
+    {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other)
+    {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+
+        FileFingerprint that = (FileFingerprint) other;
+
+        return size == that.size && lastModified == that.lastModified && hash == that.hash;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Long.hashCode(hash);
+    }
+}
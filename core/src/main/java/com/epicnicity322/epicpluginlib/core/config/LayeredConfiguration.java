@@ -0,0 +1,159 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import com.epicnicity322.yamlhandler.Configuration;
+import com.epicnicity322.yamlhandler.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The values of a {@link ConfigurationHolder} and its overlays, resolved into a single flattened map of key paths.
+ * <p>
+ * Values of overlays added later take priority over values of overlays added earlier, which take priority over the
+ * values of the base configuration. Since the layers are resolved once, getting a value costs a single hash lookup no
+ * matter how many layers there are.
+ * <p>
+ * Only values are kept, sections can't be obtained from this configuration. Instances are immutable, and are rebuilt
+ * by the holder once any of the layers is swapped.
+ *
+ * @see ConfigurationHolder#addOverlay(ConfigurationHolder)
+ * @see ConfigurationHolder#layered()
+ */
+public final class LayeredConfiguration
+{
+    private final @NotNull Map<String, Object> values;
+    final long version;
+
+    private LayeredConfiguration(@NotNull Map<String, Object> values, long version)
+    {
+        this.values = values;
+        this.version = version;
+    }
+
+    /**
+     * Flattens the layers into a single map.
+     *
+     * @param layers  The configurations, ordered from the lowest to the highest priority.
+     * @param version The layers version these configurations were obtained at.
+     * @return The resolved configuration.
+     */
+    static @NotNull LayeredConfiguration resolve(@NotNull List<Configuration> layers, long version)
+    {
+        HashMap<String, Object> values = new HashMap<>();
+        HashSet<String> sections = new HashSet<>();
+
+        for (Configuration layer : layers) {
+            String separator = String.valueOf(layer.getSectionSeparator());
+
+            for (Map.Entry<String, Object> node : layer.getAbsoluteNodes().entrySet()) {
+                String path = node.getKey();
+
+                if (node.getValue() instanceof ConfigurationSection) {
+                    sections.add(path);
+                    values.remove(path);
+                    continue;
+                }
+
+                // A value replacing a section of a lower layer hides the values inside that section.
+                if (sections.remove(path)) {
+                    String prefix = path + separator;
+                    values.keySet().removeIf(key -> key.startsWith(prefix));
+                    sections.removeIf(key -> key.startsWith(prefix));
+                }
+
+                values.put(path, node.getValue());
+            }
+        }
+
+        return new LayeredConfiguration(values, version);
+    }
+
+    /**
+     * @param path The path of the value.
+     * @return The value of the highest priority layer that has this path.
+     */
+    public @NotNull Optional<Object> getObject(@NotNull String path)
+    {
+        return Optional.ofNullable(values.get(path));
+    }
+
+    /**
+     * @param path The path of the value.
+     * @return The value in this path as string.
+     */
+    public @NotNull Optional<String> getString(@NotNull String path)
+    {
+        Object value = values.get(path);
+        return value == null ? Optional.empty() : Optional.of(value.toString());
+    }
+
+    /**
+     * @param path The path of the value.
+     * @return The value in this path, if it's a boolean.
+     */
+    public @NotNull Optional<Boolean> getBoolean(@NotNull String path)
+    {
+        Object value = values.get(path);
+        return value instanceof Boolean ? Optional.of((Boolean) value) : Optional.empty();
+    }
+
+    /**
+     * @param path The path of the value.
+     * @return The value in this path, if it's a number.
+     */
+    public @NotNull Optional<Number> getNumber(@NotNull String path)
+    {
+        Object value = values.get(path);
+        return value instanceof Number ? Optional.of((Number) value) : Optional.empty();
+    }
+
+    /**
+     * @param path The path of the value.
+     * @return Whether any layer has a value in this path.
+     */
+    public boolean contains(@NotNull String path)
+    {
+        return values.containsKey(path);
+    }
+
+    /**
+     * @return The key paths of every value.
+     */
+    public @NotNull Set<String> keys()
+    {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    /**
+     * @return An unmodifiable map with the key paths and values.
+     */
+    public @NotNull Map<String, Object> asMap()
+    {
+        return Collections.unmodifiableMap(values);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import com.epicnicity322.yamlhandler.Configuration;
+import com.epicnicity322.yamlhandler.exceptions.InvalidConfigurationException;
+import com.epicnicity322.yamlhandler.loaders.YamlConfigurationLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A cursor that reads a YAML document one top-level section at a time, for data files too large to be parsed as a
+ * whole.
+ * <p>
+ * Only the section under the cursor is kept in memory, and only if it's {@link #read()}. Sections that are not read
+ * are skipped line by line when the cursor moves with {@link #next()}, without being parsed.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * try (YamlSectionReader reader = manager.sectionReader(dataPath)) {
+ *     String key;
+ *     while ((key = reader.next()) != null) {
+ *         if (!isOnline(key)) continue; // Skipped without parsing.
+ *         Configuration section = reader.read();
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ * The document is split on lines that start with a key at no indentation, so this reader supports documents whose
+ * root is a block mapping, which is the case for configurations saved by {@link Configuration}.
+ */
+public final class YamlSectionReader implements Closeable
+{
+    private final @NotNull BufferedReader reader;
+    private final @NotNull YamlConfigurationLoader loader;
+    private boolean firstLine = true;
+    private @Nullable String lookahead;
+    private @Nullable String header;
+    private @Nullable String key;
+    private boolean consumed;
+
+    /**
+     * Creates a reader for the YAML file in the path.
+     *
+     * @param path   The path of the YAML file.
+     * @param loader The loader used to parse the sections.
+     * @throws IOException If the file could not be opened.
+     */
+    public YamlSectionReader(@NotNull Path path, @NotNull YamlConfigurationLoader loader) throws IOException
+    {
+        this(Files.newBufferedReader(path, StandardCharsets.UTF_8), loader);
+    }
+
+    public YamlSectionReader(@NotNull Reader reader, @NotNull YamlConfigurationLoader loader)
+    {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.loader = loader;
+    }
+
+    private static boolean isTopLevel(@NotNull String line)
+    {
+        if (line.isEmpty()) return false;
+
+        switch (line.charAt(0)) {
+            case ' ':
+            case '\t':
+            case '#':
+            case '-': // Sequence entries or document start marker.
+            case '.': // Document end marker.
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private static @NotNull String parseKey(@NotNull String line)
+    {
+        char first = line.charAt(0);
+
+        if (first == '\'' || first == '"') {
+            int closing = line.indexOf(first, 1);
+
+            // Single quotes are escaped by doubling them.
+            while (first == '\'' && closing != -1 && closing + 1 < line.length() && line.charAt(closing + 1) == '\'') {
+                closing = line.indexOf(first, closing + 2);
+            }
+
+            if (closing != -1) {
+                String key = line.substring(1, closing);
+                return first == '\'' ? key.replace("''", "'") : key;
+            }
+        }
+
+        int length = line.length();
+
+        for (int i = 0; i < length; i++) {
+            if (line.charAt(i) == ':' && (i + 1 == length || line.charAt(i + 1) == ' ')) {
+                return line.substring(0, i).trim();
+            }
+        }
+
+        return line.trim();
+    }
+
+    private @Nullable String readLine() throws IOException
+    {
+        if (lookahead != null) {
+            String line = lookahead;
+            lookahead = null;
+            return line;
+        }
+
+        String line = reader.readLine();
+
+        if (firstLine && line != null) {
+            firstLine = false;
+            // Removing byte order mark.
+            if (!line.isEmpty() && line.charAt(0) == '\uFEFF') line = line.substring(1);
+        }
+
+        return line;
+    }
+
+    /**
+     * Moves the cursor to the next top-level section, skipping the remaining lines of the current section if it was not
+     * read.
+     *
+     * @return The key of the next section, or null if the end of the document was reached.
+     * @throws IOException If the document could not be read.
+     */
+    public @Nullable String next() throws IOException
+    {
+        String line;
+
+        while ((line = readLine()) != null) {
+            if (isTopLevel(line)) {
+                header = line;
+                key = parseKey(line);
+                consumed = false;
+                return key;
+            }
+        }
+
+        header = null;
+        key = null;
+        return null;
+    }
+
+    /**
+     * @return The key of the section under the cursor, or null if {@link #next()} was not called or the end of the
+     * document was reached.
+     */
+    public @Nullable String key()
+    {
+        return key;
+    }
+
+    /**
+     * Parses the section under the cursor. The returned configuration has the {@link #key()} as its only root key.
+     *
+     * @return A configuration containing only the section under the cursor.
+     * @throws IOException                   If the document could not be read.
+     * @throws InvalidConfigurationException If the section is not a valid YAML.
+     * @throws IllegalStateException         If there is no section under the cursor, or it was already read.
+     */
+    public @NotNull Configuration read() throws IOException, InvalidConfigurationException
+    {
+        if (header == null) throw new IllegalStateException("There is no section under the cursor.");
+        if (consumed) throw new IllegalStateException("Section '" + key + "' was already read.");
+
+        StringBuilder section = new StringBuilder(header).append('\n');
+        String line;
+
+        while ((line = readLine()) != null) {
+            if (isTopLevel(line)) {
+                lookahead = line;
+                break;
+            }
+            section.append(line).append('\n');
+        }
+
+        consumed = true;
+        return loader.load(section.toString());
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        reader.close();
+    }
+}
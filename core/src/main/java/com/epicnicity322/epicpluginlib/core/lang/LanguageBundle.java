@@ -0,0 +1,269 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.lang;
+
+import com.epicnicity322.epicpluginlib.core.config.FileFingerprint;
+import com.epicnicity322.epicpluginlib.core.util.PathLocker;
+import com.epicnicity322.epicpluginlib.core.util.PathUtils;
+import com.epicnicity322.yamlhandler.Configuration;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The messages of a language file compiled into a compact binary file, so the language can be loaded on the next
+ * startup with a single read, without parsing the YAML again.
+ * <p>
+ * Bundles are saved next to the language file, named ".&lt;file name&gt;.bundle". Every distinct string is stored once
+ * in a string table, and each message is stored as the indexes of its key and value in this table. The fingerprint of
+ * the language file is stored along with the messages, and bundles of files that changed since they were compiled are
+ * not read. A hash of the default contents and the version range of the language is stored as well, so bundles are not
+ * read once an update of the plugin changes the defaults or the versions, and the language file is checked and
+ * migrated by its loader again.
+ *
+ * @see LanguageHolder#addLanguage(String, Path, String, ComparableVersion, ComparableVersion, java.util.function.Supplier)
+ */
+public final class LanguageBundle
+{
+    private static final int MAGIC = 0x45504C42;
+    private static final int VERSION = 2;
+    private final long defaultsHash;
+    private final long sourceSize;
+    private final long sourceLastModified;
+    private final long sourceHash;
+    private final @NotNull Map<String, String> messages;
+
+    private LanguageBundle(long defaultsHash, long sourceSize, long sourceLastModified, long sourceHash, @NotNull Map<String, String> messages)
+    {
+        this.defaultsHash = defaultsHash;
+        this.sourceSize = sourceSize;
+        this.sourceLastModified = sourceLastModified;
+        this.sourceHash = sourceHash;
+        this.messages = messages;
+    }
+
+    /**
+     * @param languageFile The path of the language file.
+     * @return The path of the bundle of the language file.
+     */
+    public static @NotNull Path bundlePath(@NotNull Path languageFile)
+    {
+        return languageFile.resolveSibling("." + languageFile.getFileName() + ".bundle");
+    }
+
+    /**
+     * Hashes the default contents and the version range of a language, which decide how its file is migrated or
+     * restored when loaded.
+     *
+     * @param defaults       The default contents of the language file.
+     * @param minimumVersion The minimum version the language file can have to not be migrated.
+     * @param maximumVersion The maximum version the language file can have to not be restored.
+     * @return The hash to compile and read bundles of this language with.
+     */
+    public static long defaultsHash(@NotNull String defaults, @Nullable ComparableVersion minimumVersion, @Nullable ComparableVersion maximumVersion)
+    {
+        byte[] data = (defaults + '\0' + minimumVersion + '\0' + maximumVersion).getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return ((long) data.length << 32) | crc.getValue();
+    }
+
+    /**
+     * Compiles the messages of a language.
+     *
+     * @param language     The configuration of the language.
+     * @param source       The fingerprint of the file the configuration was loaded from.
+     * @param defaultsHash The hash of the defaults and versions of the language, see {@link #defaultsHash(String, ComparableVersion, ComparableVersion)}.
+     * @return The compiled bundle.
+     */
+    public static @NotNull LanguageBundle compile(@NotNull Configuration language, @NotNull FileFingerprint source, long defaultsHash)
+    {
+        return new LanguageBundle(defaultsHash, source.size(), source.lastModified(), source.hash(), LocaleTable.flatten(language, new HashMap<>()));
+    }
+
+    /**
+     * Reads the bundle of the language file, if it was compiled from the current contents of the file with the same
+     * defaults and versions.
+     *
+     * @param languageFile The path of the language file.
+     * @param defaultsHash The hash of the defaults and versions of the language, see {@link #defaultsHash(String, ComparableVersion, ComparableVersion)}.
+     * @return The bundle, or null if the language file or its bundle don't exist, or the bundle is outdated or invalid.
+     * @throws IOException If the bundle could not be read.
+     */
+    public static @Nullable LanguageBundle read(@NotNull Path languageFile, long defaultsHash) throws IOException
+    {
+        Path bundleFile = bundlePath(languageFile);
+        if (!Files.isRegularFile(languageFile) || !Files.isRegularFile(bundleFile)) return null;
+
+        byte[] data;
+
+        try (PathLocker.LockToken ignored = PathLocker.lockShared(bundleFile)) {
+            data = Files.readAllBytes(bundleFile);
+        }
+
+        LanguageBundle bundle;
+
+        try {
+            bundle = decode(ByteBuffer.wrap(data));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            // Truncated or corrupted, the bundle is compiled again.
+            return null;
+        }
+
+        // The defaults or versions changed, so the loader must check the file again.
+        if (bundle == null || bundle.defaultsHash != defaultsHash || !bundle.isCompiledFrom(languageFile)) return null;
+        return bundle;
+    }
+
+    private static @Nullable LanguageBundle decode(@NotNull ByteBuffer buffer)
+    {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+
+        long defaultsHash = buffer.getLong();
+        long sourceSize = buffer.getLong();
+        long sourceLastModified = buffer.getLong();
+        long sourceHash = buffer.getLong();
+        int stringCount = buffer.getInt();
+        // Every string takes at least the 4 bytes of its length, so larger counts are corrupted.
+        if (stringCount < 0 || stringCount > buffer.remaining() / 4) return null;
+        String[] strings = new String[stringCount];
+
+        for (int i = 0; i < stringCount; i++) {
+            int length = buffer.getInt();
+            strings[i] = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        }
+
+        int messageCount = buffer.getInt();
+        // Every message takes the 8 bytes of the indexes of its key and value.
+        if (messageCount < 0 || messageCount > buffer.remaining() / 8) return null;
+        HashMap<String, String> messages = new HashMap<>((int) (messageCount / 0.75f) + 1);
+
+        for (int i = 0; i < messageCount; i++) messages.put(strings[buffer.getInt()], strings[buffer.getInt()]);
+
+        return new LanguageBundle(defaultsHash, sourceSize, sourceLastModified, sourceHash, messages);
+    }
+
+    /**
+     * Writes this bundle next to the language file.
+     *
+     * @param languageFile The path of the language file this bundle was compiled from.
+     * @throws IOException If the bundle could not be written.
+     */
+    public void write(@NotNull Path languageFile) throws IOException
+    {
+        HashMap<String, Integer> indexes = new HashMap<>();
+        ArrayList<String> strings = new ArrayList<>();
+        int[] entries = new int[messages.size() * 2];
+        int entry = 0;
+
+        for (Map.Entry<String, String> message : messages.entrySet()) {
+            entries[entry++] = index(message.getKey(), indexes, strings);
+            entries[entry++] = index(message.getValue(), indexes, strings);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + messages.size() * 48);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(defaultsHash);
+            out.writeLong(sourceSize);
+            out.writeLong(sourceLastModified);
+            out.writeLong(sourceHash);
+            out.writeInt(strings.size());
+
+            for (String string : strings) {
+                byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+            }
+
+            out.writeInt(messages.size());
+            for (int index : entries) out.writeInt(index);
+        }
+
+        PathUtils.writeAtomically(bytes.toByteArray(), bundlePath(languageFile), false);
+    }
+
+    private static int index(@NotNull String string, @NotNull HashMap<String, Integer> indexes, @NotNull ArrayList<String> strings)
+    {
+        Integer index = indexes.get(string);
+
+        if (index == null) {
+            index = strings.size();
+            indexes.put(string, index);
+            strings.add(string);
+        }
+
+        return index;
+    }
+
+    /**
+     * Tests whether this bundle was compiled from the current contents of the language file. The size and last
+     * modified time are checked first, and the contents are only hashed if they differ.
+     *
+     * @param languageFile The path of the language file.
+     * @return Whether this bundle has the messages of the current contents of the file.
+     * @throws IOException If the attributes or contents of the file could not be read.
+     */
+    public boolean isCompiledFrom(@NotNull Path languageFile) throws IOException
+    {
+        BasicFileAttributes attributes = Files.readAttributes(languageFile, BasicFileAttributes.class);
+
+        if (attributes.size() != sourceSize) return false;
+        if (attributes.lastModifiedTime().toMillis() == sourceLastModified) return true;
+
+        // Touched or copied, but possibly with the same contents.
+        FileFingerprint fingerprint = FileFingerprint.of(languageFile);
+        return fingerprint != null && fingerprint.size() == sourceSize && fingerprint.hash() == sourceHash;
+    }
+
+    /**
+     * @param key The key of the message.
+     * @return The message, or null if the language has no message with this key.
+     */
+    public @Nullable String get(@NotNull String key)
+    {
+        return messages.get(key);
+    }
+
+    /**
+     * @return An unmodifiable map with the keys and messages of the language.
+     */
+    public @NotNull Map<String, String> messages()
+    {
+        return Collections.unmodifiableMap(messages);
+    }
+}
\ No newline at end of file
@@ -19,12 +19,22 @@
 package com.epicnicity322.epicpluginlib.core.lang;
 
 import com.epicnicity322.epicpluginlib.core.config.ConfigurationHolder;
+import com.epicnicity322.epicpluginlib.core.config.FileFingerprint;
+import com.epicnicity322.epicpluginlib.core.logger.ConsoleLogger;
+import com.epicnicity322.epicpluginlib.core.util.CooldownStore;
 import com.epicnicity322.yamlhandler.Configuration;
+import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 
 /**
@@ -36,8 +46,33 @@ import java.util.function.Supplier;
  */
 public abstract class LanguageHolder<X, Y>
 {
-    private final @NotNull WeakHashMap<UUID, Long> lastSentMessageTimes = new WeakHashMap<>();
-    private final @NotNull HashMap<String, ConfigurationHolder> languageLocales = new HashMap<>();
+    private static final int MAX_SENT_MESSAGES = 256;
+    // The precision in milliseconds of the times lazy languages were last used.
+    static final long USE_RESOLUTION = 1000;
+    private final @NotNull CooldownStore cooldowns = new CooldownStore();
+    private final @NotNull Object languagesLock = new Object();
+    // Copied on write, so reads don't need the lock.
+    private volatile @NotNull Map<String, ConfigurationHolder> languageLocales = Collections.emptyMap();
+    // Languages loaded on first use, they are in languageLocales only while loaded.
+    private volatile @NotNull Map<String, Supplier<ConfigurationHolder>> lazyLanguages = Collections.emptyMap();
+    private final @NotNull ConcurrentHashMap<String, Integer> pinnedLocales = new ConcurrentHashMap<>();
+    // Locks of the lazy languages being loaded, so each language is loaded once without holding the languages lock.
+    private final @NotNull ConcurrentHashMap<String, Object> loadingLocales = new ConcurrentHashMap<>();
+    // When the holders of the lazy languages were last loaded or got, for the ones not used for messages.
+    private final @NotNull ConcurrentHashMap<String, Long> usedLanguages = new ConcurrentHashMap<>();
+    // The loaders that failed, so they are not called for every message until the language is added again.
+    private final @NotNull ConcurrentHashMap<String, Supplier<ConfigurationHolder>> failedLoaders = new ConcurrentHashMap<>();
+    // The files of the lazy languages with compiled bundles.
+    private final @NotNull ConcurrentHashMap<String, BundledLanguage> bundledLanguages = new ConcurrentHashMap<>();
+    private volatile @NotNull Executor bundleExecutor = ForkJoinPool.commonPool();
+    private volatile @NotNull ConsoleLogger<?> logger = ConsoleLogger.simpleLogger("[EpicPluginLib] ");
+    private final @NotNull ConcurrentHashMap<String, LocaleTable<X>> localeTables = new ConcurrentHashMap<>();
+    private volatile @Nullable LocaleTable<X> defaultTable;
+    private final @NotNull ConcurrentHashMap<String, String> missingKeys = new ConcurrentHashMap<>();
+    private volatile @Nullable MessageRateLimit rateLimit;
+    private volatile boolean clientLocales = false;
+    // Client locales and the registered locale they resolved to, empty if they fall back to the current locale.
+    private final @NotNull ConcurrentHashMap<String, String> resolvedLocales = new ConcurrentHashMap<>();
     private final @NotNull Supplier<String> currentLocale;
     private final @NotNull Configuration defaultLanguage;
 
@@ -83,6 +118,19 @@ public abstract class LanguageHolder<X, Y>
 
     protected abstract @Nullable UUID receiverUUID(@NotNull Y receiver);
 
+    /**
+     * Gets the locale the receiver uses, such as the locale of the client of a player. Platforms that can't tell the
+     * locale of receivers should return null, so the current locale is used. This is only used while
+     * {@link #isClientLocales()} is enabled.
+     *
+     * @param receiver The receiver to get the locale of.
+     * @return The locale code of the receiver. E.g. "EN_US".
+     */
+    protected @Nullable String receiverLocale(@NotNull Y receiver)
+    {
+        return null;
+    }
+
     /**
      * Adds a language to this {@link LanguageHolder}.
      *
@@ -91,11 +139,102 @@ public abstract class LanguageHolder<X, Y>
      */
     public void addLanguage(@NotNull String locale, @NotNull ConfigurationHolder language)
     {
-        synchronized (languageLocales) {
+        synchronized (languagesLock) {
+            HashMap<String, ConfigurationHolder> languageLocales = new HashMap<>(this.languageLocales);
             languageLocales.put(locale, language);
+            this.languageLocales = Collections.unmodifiableMap(languageLocales);
+            removeLazy(locale);
+            resolvedLocales.clear();
+        }
+    }
+
+    /**
+     * Adds a language to this {@link LanguageHolder} that is only loaded the first time a message of this locale is
+     * needed. Lazy languages that were not used for a while can be unloaded with {@link #unloadIdleLanguages(long)},
+     * and are loaded again by the loader once they are needed again.
+     * <p>
+     * The holders given by the loader should not be kept anywhere else, so their configurations can be garbage
+     * collected once unloaded. For example:
+     * <pre>{@code
+     * lang.addLanguage("PT_BR", () -> {
+     *     ConfigurationHolder holder = new ConfigurationHolder(path, manager, contents);
+     *     manager.registerConfiguration(holder);
+     *     manager.loadConfiguration(holder);
+     *     manager.unregisterConfiguration(holder);
+     *     return holder;
+     * });
+     * }</pre>
+     *
+     * @param locale The locale code to be assigned to this language. E.g. "EN_US".
+     * @param loader The loader of the {@link ConfigurationHolder} containing the keys and strings of this language.
+     * @see #pinLanguage(String)
+     */
+    public void addLanguage(@NotNull String locale, @NotNull Supplier<ConfigurationHolder> loader)
+    {
+        addLazy(locale, loader, null);
+    }
+
+    /**
+     * Adds a lazy language, as {@link #addLanguage(String, Supplier)}, that is read from its compiled
+     * {@link LanguageBundle} when the bundle is up to date with the language file. Otherwise, the language is loaded by
+     * the loader, and its bundle is compiled again by the {@link #setBundleExecutor(Executor)} for the next time the
+     * language is loaded.
+     * <p>
+     * Languages read from bundles have no holder, so they are not reloaded with their file. To reload them, add them
+     * again.
+     * <p>
+     * The default contents and versions must be the same ones the loader registers the holder with. Bundles compiled
+     * with other defaults or versions are not read, so the loader can migrate or restore the file once they change.
+     *
+     * @param locale         The locale code to be assigned to this language. E.g. "EN_US".
+     * @param file           The path of the language file, which is loaded by the loader.
+     * @param defaults       The default contents of the language file.
+     * @param minimumVersion The minimum version of the language file the loader registers the holder with.
+     * @param maximumVersion The maximum version of the language file the loader registers the holder with.
+     * @param loader         The loader of the {@link ConfigurationHolder} containing the keys and strings of this language.
+     */
+    public void addLanguage(@NotNull String locale, @NotNull Path file, @NotNull String defaults, @Nullable ComparableVersion minimumVersion, @Nullable ComparableVersion maximumVersion, @NotNull Supplier<ConfigurationHolder> loader)
+    {
+        addLazy(locale, loader, new BundledLanguage(file, LanguageBundle.defaultsHash(defaults, minimumVersion, maximumVersion)));
+    }
+
+    private void addLazy(@NotNull String locale, @NotNull Supplier<ConfigurationHolder> loader, @Nullable BundledLanguage bundled)
+    {
+        synchronized (languagesLock) {
+            if (bundled == null) {
+                bundledLanguages.remove(locale);
+            } else {
+                bundledLanguages.put(locale, bundled);
+            }
+
+            HashMap<String, Supplier<ConfigurationHolder>> lazyLanguages = new HashMap<>(this.lazyLanguages);
+            lazyLanguages.put(locale, loader);
+            this.lazyLanguages = Collections.unmodifiableMap(lazyLanguages);
+            failedLoaders.remove(locale);
+
+            if (languageLocales.containsKey(locale)) {
+                HashMap<String, ConfigurationHolder> languageLocales = new HashMap<>(this.languageLocales);
+                languageLocales.remove(locale);
+                this.languageLocales = Collections.unmodifiableMap(languageLocales);
+            }
+
+            resolvedLocales.clear();
+            localeTables.remove(locale);
         }
     }
 
+    private void removeLazy(@NotNull String locale)
+    {
+        if (!lazyLanguages.containsKey(locale)) return;
+
+        HashMap<String, Supplier<ConfigurationHolder>> lazyLanguages = new HashMap<>(this.lazyLanguages);
+        lazyLanguages.remove(locale);
+        this.lazyLanguages = Collections.unmodifiableMap(lazyLanguages);
+        bundledLanguages.remove(locale);
+        usedLanguages.remove(locale);
+        failedLoaders.remove(locale);
+    }
+
     /**
      * Removes a language from this {@link LanguageHolder}.
      *
@@ -103,20 +242,110 @@ public abstract class LanguageHolder<X, Y>
      */
     public void removeLanguage(@NotNull String locale)
     {
-        synchronized (languageLocales) {
+        synchronized (languagesLock) {
+            HashMap<String, ConfigurationHolder> languageLocales = new HashMap<>(this.languageLocales);
             languageLocales.remove(locale);
+            this.languageLocales = Collections.unmodifiableMap(languageLocales);
+            removeLazy(locale);
+            resolvedLocales.clear();
+            localeTables.remove(locale);
+        }
+    }
+
+    /**
+     * Unloads the lazy languages that had no messages used for the idle time, so their configurations can be garbage
+     * collected. The language of the current locale and pinned languages are never unloaded.
+     * <p>
+     * This can be called from a repeating task, for example, every few minutes.
+     *
+     * @param idleMillis The time in milliseconds a language must be unused to be unloaded.
+     * @return The amount of languages unloaded.
+     * @see #addLanguage(String, Supplier)
+     */
+    public int unloadIdleLanguages(long idleMillis)
+    {
+        long now = System.currentTimeMillis();
+        String current = currentLocale.get();
+        int unloaded = 0;
+
+        synchronized (languagesLock) {
+            HashMap<String, ConfigurationHolder> languageLocales = null;
+
+            for (String locale : lazyLanguages.keySet()) {
+                LocaleTable<X> table = localeTables.get(locale);
+                boolean holderLoaded = this.languageLocales.containsKey(locale);
+
+                // Languages read from bundles only have a table.
+                if ((!holderLoaded && table == null) || locale.equals(current) || pinnedLocales.containsKey(locale))
+                    continue;
+                if (table != null && now - table.lastUsed < idleMillis) continue;
+                // Holders got with getLanguage might not have a table.
+                Long used = usedLanguages.get(locale);
+                if (used != null && now - used < idleMillis) continue;
+
+                if (holderLoaded) {
+                    if (languageLocales == null) languageLocales = new HashMap<>(this.languageLocales);
+                    languageLocales.remove(locale);
+                }
+
+                localeTables.remove(locale);
+                usedLanguages.remove(locale);
+                unloaded++;
+            }
+
+            if (languageLocales != null) this.languageLocales = Collections.unmodifiableMap(languageLocales);
         }
+
+        return unloaded;
+    }
+
+    /**
+     * Prevents the lazy language of this locale from being unloaded for being idle, until it's unpinned. Languages can
+     * be pinned more than once, for example, once for each player using the locale, and are only unpinned once
+     * {@link #unpinLanguage(String)} is called the same amount of times.
+     *
+     * @param locale The locale of the language to pin.
+     */
+    public void pinLanguage(@NotNull String locale)
+    {
+        pinnedLocales.merge(locale, 1, Integer::sum);
     }
 
     /**
-     * Gets all registered languages in this {@link LanguageHolder}.
+     * Releases one pin of the language of this locale.
+     *
+     * @param locale The locale of the language to unpin.
+     * @see #pinLanguage(String)
+     */
+    public void unpinLanguage(@NotNull String locale)
+    {
+        pinnedLocales.computeIfPresent(locale, (key, pins) -> pins <= 1 ? null : pins - 1);
+    }
+
+    /**
+     * Gets the loaded languages in this {@link LanguageHolder}. Lazy languages added with
+     * {@link #addLanguage(String, Supplier)} are only present while loaded, use {@link #getLocales()} to get the
+     * locales of every registered language.
      *
      * @return An unmodifiable {@link Map} containing the locales and its configuration with the strings.
      */
     public @NotNull Map<String, ConfigurationHolder> getLanguages()
     {
-        synchronized (languageLocales) {
-            return Collections.unmodifiableMap(languageLocales);
+        return languageLocales;
+    }
+
+    /**
+     * Gets the locales of every registered language, including the lazy languages that are not loaded. Languages are
+     * not loaded by this method.
+     *
+     * @return An unmodifiable {@link Set} with the registered locales.
+     */
+    public @NotNull Set<String> getLocales()
+    {
+        synchronized (languagesLock) {
+            HashSet<String> locales = new HashSet<>(languageLocales.keySet());
+            locales.addAll(lazyLanguages.keySet());
+            return Collections.unmodifiableSet(locales);
         }
     }
 
@@ -124,12 +353,155 @@ public abstract class LanguageHolder<X, Y>
      * Gets the language configuration attributed to this locale.
      *
      * @param locale The locale of the language you want to get.
-     * @return A {@link ConfigurationHolder} containing the {@link com.epicnicity322.yamlhandler.Configuration} with keys and strings of this locale.
+     * @return A {@link ConfigurationHolder} containing the {@link com.epicnicity322.yamlhandler.Configuration} with keys and strings of this locale,
+     * null if no language was added with this locale, or if the loader of the lazy language failed.
      */
     public @Nullable ConfigurationHolder getLanguage(@NotNull String locale)
     {
-        synchronized (languageLocales) {
-            return languageLocales.get(locale);
+        ConfigurationHolder language = languageLocales.get(locale);
+        if (!lazyLanguages.containsKey(locale)) return language;
+        if (language == null) language = loadLanguage(locale);
+        if (language != null) useLanguage(locale);
+        return language;
+    }
+
+    private void useLanguage(@NotNull String locale)
+    {
+        long now = System.currentTimeMillis();
+        Long used = usedLanguages.get(locale);
+        if (used == null || now - used >= USE_RESOLUTION) usedLanguages.put(locale, now);
+    }
+
+    /**
+     * Loads the lazy language of this locale, if not loaded yet.
+     *
+     * @param locale The locale of the lazy language.
+     * @return The loaded language, or null if the language was removed or its loader failed, so the default language
+     * is used instead.
+     */
+    private @Nullable ConfigurationHolder loadLanguage(@NotNull String locale)
+    {
+        Object lock = loadingLocales.computeIfAbsent(locale, k -> new Object());
+
+        // Loaded outside the languages lock, so slow loaders don't block messages and changes of other languages.
+        try {
+            synchronized (lock) {
+                while (true) {
+                    ConfigurationHolder language = languageLocales.get(locale);
+                    if (language != null) return language;
+
+                    Supplier<ConfigurationHolder> loader = lazyLanguages.get(locale);
+                    if (loader == null || failedLoaders.get(locale) == loader) return null;
+
+                    try {
+                        language = loader.get();
+                    } catch (RuntimeException e) {
+                        logger.log("Unable to load the language " + locale + ", the default language will be used: " + e, ConsoleLogger.Level.ERROR);
+                        failedLoaders.put(locale, loader);
+                        return null;
+                    }
+
+                    if (language == null) {
+                        logger.log("The loader of the language " + locale + " returned null, the default language will be used.", ConsoleLogger.Level.ERROR);
+                        failedLoaders.put(locale, loader);
+                        return null;
+                    }
+
+                    synchronized (languagesLock) {
+                        // The language might have been removed or added again while loading.
+                        if (lazyLanguages.get(locale) != loader || languageLocales.containsKey(locale)) continue;
+
+                        HashMap<String, ConfigurationHolder> languageLocales = new HashMap<>(this.languageLocales);
+                        languageLocales.put(locale, language);
+                        this.languageLocales = Collections.unmodifiableMap(languageLocales);
+                        usedLanguages.put(locale, System.currentTimeMillis());
+                        return language;
+                    }
+                }
+            }
+        } finally {
+            // Threads already waiting for this lock find the language loaded once they get it.
+            loadingLocales.remove(locale, lock);
+        }
+    }
+
+    /**
+     * Sets whether messages are sent in the locale of each receiver, such as the locale of the client of a player,
+     * instead of the current locale. This is disabled by default, so every receiver gets messages in the current
+     * locale.
+     *
+     * @param clientLocales Whether to send messages in the locale of each receiver.
+     * @see #locale(Object)
+     */
+    public void setClientLocales(boolean clientLocales)
+    {
+        this.clientLocales = clientLocales;
+    }
+
+    /**
+     * @return Whether messages are sent in the locale of each receiver, instead of the current locale.
+     * @see #setClientLocales(boolean)
+     */
+    public boolean isClientLocales()
+    {
+        return clientLocales;
+    }
+
+    /**
+     * Gets the registered locale used to send messages to this receiver. If client locales are not enabled with
+     * {@link #setClientLocales(boolean)}, this is always the current locale.
+     * <p>
+     * The locale of the receiver is matched against the registered languages in a single lookup, which is cached for
+     * each distinct receiver locale until a language is added or removed. The fallback chain is: a language registered
+     * with the exact locale of the receiver, ignoring case; then a language of the same language code, such as "PT_PT"
+     * for a receiver using "PT_BR"; then the current locale.
+     *
+     * @param receiver The receiver of messages.
+     * @return The locale of the language used for this receiver.
+     * @see #receiverLocale(Object)
+     */
+    public @NotNull String locale(@NotNull Y receiver)
+    {
+        if (!clientLocales) return currentLocale.get();
+
+        String receiverLocale = receiverLocale(receiver);
+        if (receiverLocale == null) return currentLocale.get();
+
+        String resolved = resolvedLocales.get(receiverLocale);
+        if (resolved == null) resolved = resolveLocale(receiverLocale);
+
+        return resolved.isEmpty() ? currentLocale.get() : resolved;
+    }
+
+    private @NotNull String resolveLocale(@NotNull String receiverLocale)
+    {
+        // Holding the lock so the resolution is not cached after the languages changed.
+        synchronized (languagesLock) {
+            Set<String> locales = new HashSet<>(languageLocales.keySet());
+            locales.addAll(lazyLanguages.keySet());
+            String resolved = null;
+
+            if (locales.contains(receiverLocale)) {
+                resolved = receiverLocale;
+            } else {
+                int separator = receiverLocale.indexOf('_');
+                String languageCode = separator == -1 ? receiverLocale : receiverLocale.substring(0, separator);
+
+                for (String locale : locales) {
+                    if (locale.equalsIgnoreCase(receiverLocale)) {
+                        resolved = locale;
+                        break;
+                    }
+                    if (resolved == null && (locale.equalsIgnoreCase(languageCode) || (locale.length() > languageCode.length()
+                            && locale.charAt(languageCode.length()) == '_' && locale.regionMatches(true, 0, languageCode, 0, languageCode.length())))) {
+                        resolved = locale;
+                    }
+                }
+            }
+
+            if (resolved == null) resolved = "";
+            resolvedLocales.put(receiverLocale, resolved);
+            return resolved;
         }
     }
 
@@ -157,7 +529,7 @@ public abstract class LanguageHolder<X, Y>
      * These are the currently available properties:
      * <ul>
      *     <li>noprefix - Removes the default prefix of this message.</li>
-     *     <li>cooldown=<b>TIME</b> - Prevents the message from being sent if another message has been sent to this receiver within the specified time. Replace <b>TIME</b> with the cooldown time in milliseconds.</li>
+     *     <li>cooldown=<b>TIME</b> - Prevents the message from being sent if the same message has been sent to this receiver within the specified time. Replace <b>TIME</b> with the cooldown time in milliseconds.</li>
      *     <li>dummy - A dummy property that gets removed on the output, allowing you to use '<' at the start of the message.</li>
      * </ul>
      * An example message of how to use properties:
@@ -166,6 +538,9 @@ public abstract class LanguageHolder<X, Y>
      * <pre>{@code "Hello World!"}</pre>
      * <p>
      * Properties silently fail, if for example, you don't use a real number in cooldown, or you don't enclose the brackets correctly.
+     * <p>
+     * The last messages sent are kept colored for each locale until the language is reloaded, so sending the same
+     * message again, such as one got from {@link #get(String)}, does not parse or color it again.
      *
      * @param receiver Who this message will be sent to.
      * @param prefix   If this message should start with the prefix in the key "General.Prefix".
@@ -176,65 +551,328 @@ public abstract class LanguageHolder<X, Y>
     {
         if (message == null || message.isEmpty()) return;
 
-        // Messages starting with '<' could have message-specific properties.
-        if (message.charAt(0) == '<') {
-            int spaceIndex = message.indexOf(' ');
-            if (spaceIndex != -1) {
-                String[] properties = message.substring(0, spaceIndex).split(">");
-
-                for (String property : properties) {
-                    if (property.equals("<noprefix")) {
-                        prefix = false;
-                    } else if (property.startsWith("<cooldown=")) {
-                        if (inCooldown(receiver, property.substring(property.indexOf('=') + 1))) return;
-                    } else break;
+        LocaleTable<X> table = table(locale(receiver));
+        ConcurrentHashMap<String, LocaleTable.Compiled<X>> sent = prefix ? table.sent : table.sentWithoutPrefix;
+        LocaleTable.Compiled<X> compiled = sent.get(message);
+
+        if (compiled == null) {
+            // Raw messages have no placeholder values, so only the properties are parsed.
+            MessageTemplate template = MessageTemplate.literal(message);
+            String prefixText = prefix && template.prefix() ? table.prefix : null;
+
+            compiled = new LocaleTable.Compiled<>(template, prefixText, translateColorCodes(template.render(prefixText)));
+            // Messages with values already replaced could be endless, so the cache is bounded.
+            if (sent.size() >= MAX_SENT_MESSAGES) sent.clear();
+            sent.put(message, compiled);
+        }
+
+        X colored = compiled.colored;
+        long cooldown = compiled.template.cooldown();
+
+        if (colored == null || (cooldown != -1 && inCooldown(receiver, message, cooldown))) return;
+
+        deliver(colored, receiver, null, null);
+    }
+
+    /**
+     * Sends the message assigned to this key in the {@link #locale(Object)} of the receiver, with the prefix and
+     * properties described in {@link #send(Object, boolean, String)}.
+     * <p>
+     * Unlike {@link #send(Object, String)}, placeholders of the message are replaced by the given values. The message
+     * is compiled into a {@link MessageTemplate} only once per language reload, and messages without placeholders are
+     * also colored only once, so sending them again costs almost no allocations.
+     *
+     * @param receiver     Who this message will be sent to.
+     * @param key          The key of the message.
+     * @param placeholders Alternating placeholder names and values. E.g. {@code "player", player.getName()}.
+     * @see MessageTemplate#render(String, Object...)
+     */
+    public void sendKey(@NotNull Y receiver, @NotNull String key, @Nullable Object @NotNull ... placeholders)
+    {
+        LocaleTable.Compiled<X> compiled = compiled(table(locale(receiver)), key);
+        MessageTemplate template = compiled.template;
+
+        // Empty messages are not sent.
+        if (compiled.colored == null) return;
+        if (template.cooldown() != -1 && inCooldown(receiver, key, template.cooldown())) return;
+
+        if (placeholders.length < 2 || !template.hasPlaceholders()) {
+            deliver(compiled.colored, receiver, key, null);
+        } else {
+            deliver(translateColorCodes(template.render(compiled.prefix, placeholders)), receiver, key, null);
+        }
+    }
+
+    /**
+     * Sends the message assigned to this key to every receiver, as {@link #sendKey(Object, String, Object...)} would.
+     * <p>
+     * The message is formatted once per distinct {@link #locale(Object)} of the receivers, and the same formatted
+     * message is sent to every receiver of that locale. Cooldowns are still kept per receiver.
+     *
+     * @param receivers    Who this message will be sent to.
+     * @param key          The key of the message.
+     * @param placeholders Alternating placeholder names and values. E.g. {@code "player", player.getName()}.
+     * @return The amount of receivers the message was sent to.
+     */
+    public int broadcast(@NotNull Collection<? extends Y> receivers, @NotNull String key, @Nullable Object @NotNull ... placeholders)
+    {
+        return broadcast(receivers, key, (Dispatcher<Y>) null, placeholders);
+    }
+
+    /**
+     * Sends the message assigned to this key to every receiver, as {@link #sendKey(Object, String, Object...)} would.
+     * <p>
+     * The message is formatted once per distinct {@link #locale(Object)} of the receivers, and the same formatted
+     * message is sent to every receiver of that locale. Cooldowns are still kept per receiver.
+     *
+     * @param receivers    Who this message will be sent to.
+     * @param key          The key of the message.
+     * @param dispatcher   Where the message is sent to each receiver, null to send them in the current thread.
+     * @param placeholders Alternating placeholder names and values. E.g. {@code "player", player.getName()}.
+     * @return The amount of receivers the message was sent to, not counting the ones the rate limit dropped or delayed.
+     */
+    public int broadcast(@NotNull Collection<? extends Y> receivers, @NotNull String key, @Nullable Dispatcher<? super Y> dispatcher, @Nullable Object @NotNull ... placeholders)
+    {
+        if (receivers.isEmpty()) return 0;
+
+        HashMap<String, Broadcast<X>> formatted = new HashMap<>(4);
+        int sent = 0;
+
+        for (Y receiver : receivers) {
+            String locale = locale(receiver);
+            Broadcast<X> broadcast = formatted.get(locale);
+
+            if (broadcast == null) {
+                LocaleTable.Compiled<X> compiled = compiled(table(locale), key);
+                MessageTemplate template = compiled.template;
+                X message = compiled.colored;
+
+                if (message != null && placeholders.length >= 2 && template.hasPlaceholders()) {
+                    message = translateColorCodes(template.render(compiled.prefix, placeholders));
                 }
 
-                message = message.substring(spaceIndex + 1);
+                broadcast = new Broadcast<>(message, template.cooldown());
+                formatted.put(locale, broadcast);
             }
+
+            X message = broadcast.message;
+
+            // Empty messages are not sent.
+            if (message == null) continue;
+            if (broadcast.cooldown != -1 && inCooldown(receiver, key, broadcast.cooldown)) continue;
+
+            if (deliver(message, receiver, key, dispatcher)) sent++;
         }
 
-        sendMessage(translateColorCodes((prefix ? get("General.Prefix", "") : "") + message), receiver);
+        return sent;
     }
 
-    private boolean inCooldown(@NotNull Y receiver, @NotNull String cooldownString)
+    /**
+     * Sends the message to the receiver now, unless the rate limit drops it or sends it later.
+     *
+     * @return Whether the message was sent now.
+     */
+    private boolean deliver(@NotNull X message, @NotNull Y receiver, @Nullable String key, @Nullable Dispatcher<? super Y> dispatcher)
     {
-        UUID uuid = receiverUUID(receiver);
-        if (uuid == null) return false;
+        MessageRateLimit rateLimit = this.rateLimit;
 
-        long currentTime = System.currentTimeMillis();
-        long cooldown;
+        if (rateLimit != null) {
+            UUID uuid = receiverUUID(receiver);
 
-        try {
-            cooldown = Long.parseLong(cooldownString);
-        } catch (NumberFormatException ignored) {
-            return false;
+            if (uuid != null && !rateLimit.tryPass(uuid, key, () -> dispatch(message, receiver, dispatcher))) {
+                return false;
+            }
         }
 
-        Long lastMessageTime = lastSentMessageTimes.get(uuid);
+        dispatch(message, receiver, dispatcher);
+        return true;
+    }
 
-        if (lastMessageTime == null) {
-            lastSentMessageTimes.put(uuid, currentTime);
-            return false;
-        }
-        if (currentTime - lastMessageTime <= cooldown) {
-            return true;
+    private void dispatch(@NotNull X message, @NotNull Y receiver, @Nullable Dispatcher<? super Y> dispatcher)
+    {
+        if (dispatcher == null) {
+            sendMessage(message, receiver);
         } else {
-            lastSentMessageTimes.put(uuid, currentTime);
-            return false;
+            dispatcher.dispatch(receiver, () -> sendMessage(message, receiver));
+        }
+    }
+
+    /**
+     * Sets the rate limit of the messages sent to each receiver by {@link #send(Object, boolean, String)},
+     * {@link #sendKey(Object, String, Object...)} and {@link #broadcast(Collection, String, Object...)}. Messages
+     * in cooldown are not sent, so they don't count towards the rate limit.
+     * <p>
+     * Call {@link MessageRateLimit#reset(UUID)} when a receiver leaves, so its buckets are not kept until the next
+     * purge.
+     *
+     * @param rateLimit The rate limit of the messages, null to send messages without limits.
+     */
+    public void setRateLimit(@Nullable MessageRateLimit rateLimit)
+    {
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * @return The rate limit of the messages, null if messages are sent without limits.
+     */
+    public @Nullable MessageRateLimit rateLimit()
+    {
+        return rateLimit;
+    }
+
+    private @NotNull LocaleTable.Compiled<X> compiled(@NotNull LocaleTable<X> table, @NotNull String key)
+    {
+        LocaleTable.Compiled<X> compiled = table.compiled.get(key);
+
+        if (compiled == null) {
+            String message = get(table, key);
+            MessageTemplate template = MessageTemplate.compile(message);
+            String prefix = template.prefix() ? table.prefix : null;
+            X colored = message.isEmpty() ? null : translateColorCodes(template.render(prefix));
+
+            compiled = new LocaleTable.Compiled<>(template, prefix, colored);
+            table.compiled.put(key, compiled);
         }
+
+        return compiled;
+    }
+
+    /**
+     * Gets the table of messages of this locale, building it if the language of this locale was reloaded or replaced.
+     *
+     * @param locale The locale of the language.
+     * @return The current messages of the locale.
+     */
+    private @NotNull LocaleTable<X> table(@NotNull String locale)
+    {
+        ConfigurationHolder language = languageLocales.get(locale);
+        LocaleTable<X> defaultTable = this.defaultTable;
+        LocaleTable<X> table;
+
+        if (defaultTable == null) this.defaultTable = defaultTable = LocaleTable.ofDefault(defaultLanguage);
+
+        if (language == null) {
+            if (!lazyLanguages.containsKey(locale)) return defaultTable;
+
+            table = localeTables.get(locale);
+            // Tables read from bundles have no holder, and are kept until the language is unloaded or added again.
+            if (table == null || table.language != null) table = readBundle(locale, defaultTable);
+
+            if (table != null) {
+                table.use(System.currentTimeMillis());
+                return table;
+            }
+
+            language = loadLanguage(locale);
+            if (language == null) return defaultTable;
+        }
+
+        table = localeTables.get(locale);
+
+        if (table == null || !table.isCurrent(language)) {
+            table = LocaleTable.of(language, defaultTable);
+            localeTables.put(locale, table);
+            writeBundle(locale, language.snapshot());
+        }
+
+        table.use(System.currentTimeMillis());
+        return table;
+    }
+
+    private @Nullable LocaleTable<X> readBundle(@NotNull String locale, @NotNull LocaleTable<X> defaultTable)
+    {
+        BundledLanguage bundled = bundledLanguages.get(locale);
+        if (bundled == null) return null;
+
+        try {
+            LanguageBundle bundle = LanguageBundle.read(bundled.file, bundled.defaultsHash);
+            if (bundle == null) return null;
+
+            LocaleTable<X> table = LocaleTable.of(bundle, defaultTable);
+            localeTables.put(locale, table);
+            return table;
+        } catch (IOException e) {
+            // Bundles are only a cache, the language is loaded from its file.
+            return null;
+        }
+    }
+
+    private void writeBundle(@NotNull String locale, @NotNull ConfigurationHolder.Snapshot snapshot)
+    {
+        BundledLanguage bundled = bundledLanguages.get(locale);
+        // Only configurations loaded from the file as it is have the fingerprint of its contents.
+        FileFingerprint fingerprint = snapshot.fingerprint();
+        if (bundled == null || fingerprint == null) return;
+
+        Runnable write = () -> {
+            try {
+                LanguageBundle.compile(snapshot.config(), fingerprint, bundled.defaultsHash).write(bundled.file);
+            } catch (IOException | RuntimeException e) {
+                // The bundle is compiled again on the next load.
+                logger.log("Unable to write the language bundle of " + locale + ": " + e, ConsoleLogger.Level.WARN);
+            }
+        };
+
+        try {
+            bundleExecutor.execute(write);
+        } catch (RejectedExecutionException e) {
+            logger.log("Unable to schedule the language bundle of " + locale + ": " + e, ConsoleLogger.Level.WARN);
+        }
+    }
+
+    /**
+     * Sets the executor that compiles and writes the {@link LanguageBundle}s of lazy languages added with
+     * {@link #addLanguage(String, Path, String, ComparableVersion, ComparableVersion, Supplier)}, so bundles are not
+     * written by the thread sending messages. The common fork join pool is used by default.
+     *
+     * @param bundleExecutor The executor of bundle writes. E.g. {@code runnable -> taskFactory.async().delayed(0, task -> runnable.run())}.
+     */
+    public void setBundleExecutor(@NotNull Executor bundleExecutor)
+    {
+        this.bundleExecutor = bundleExecutor;
+    }
+
+    /**
+     * Sets the logger of errors that can't be returned to the caller, such as failures to write language bundles. A
+     * simple logger that prints to the standard output is used by default.
+     *
+     * @param logger The logger of this holder.
+     */
+    public void setLogger(@NotNull ConsoleLogger<?> logger)
+    {
+        this.logger = logger;
+    }
+
+    private boolean inCooldown(@NotNull Y receiver, @NotNull String key, long cooldown)
+    {
+        UUID uuid = receiverUUID(receiver);
+        return uuid != null && !cooldowns.tryAcquire(uuid, key, cooldown);
+    }
+
+    /**
+     * Gets the store of the cooldowns of messages with the cooldown property. Cooldowns are kept per receiver and per
+     * message key, or per message for messages sent with {@link #send(Object, boolean, String)}.
+     *
+     * @return The cooldowns of the messages of this holder.
+     */
+    public @NotNull CooldownStore cooldowns()
+    {
+        return cooldowns;
     }
 
     /**
      * Gets the message assigned to this key using {@link #get(String)}. The message already has its color codes
      * formatted.
+     * <p>
+     * Formatted messages are cached per locale until the language is reloaded, so the same instance is returned for
+     * the same key.
      *
      * @param key The key of the message.
      * @return The formatted message or "[Key not found]" if key not found.
      */
     public @NotNull X getColored(@NotNull String key)
     {
-        return translateColorCodes(get(key));
+        return colored(table(currentLocale.get()), key);
     }
 
     /**
@@ -257,6 +895,44 @@ public abstract class LanguageHolder<X, Y>
         }
     }
 
+    /**
+     * Gets the message assigned to this key in the {@link #locale(Object)} of the receiver, the same way
+     * {@link #get(String)} does.
+     *
+     * @param receiver The receiver the message is for.
+     * @param key      The key of the message.
+     * @return The message assigned to the key.
+     */
+    public @NotNull String get(@NotNull Y receiver, @NotNull String key)
+    {
+        return get(table(locale(receiver)), key);
+    }
+
+    /**
+     * Gets the message assigned to this key in the {@link #locale(Object)} of the receiver, with its color codes
+     * formatted. Formatted messages are cached like {@link #getColored(String)}.
+     *
+     * @param receiver The receiver the message is for.
+     * @param key      The key of the message.
+     * @return The formatted message.
+     */
+    public @NotNull X getColored(@NotNull Y receiver, @NotNull String key)
+    {
+        return colored(table(locale(receiver)), key);
+    }
+
+    private @NotNull X colored(@NotNull LocaleTable<X> table, @NotNull String key)
+    {
+        X colored = table.colored.get(key);
+
+        if (colored == null) {
+            colored = translateColorCodes(get(table, key));
+            table.colored.put(key, colored);
+        }
+
+        return colored;
+    }
+
     /**
      * Gets the message assigned to this key on the current set locale. If no language is associated with the current
      * locale, the default locale is used. If the key is not found both on the current set locale and the default locale,
@@ -267,13 +943,13 @@ public abstract class LanguageHolder<X, Y>
      */
     public @NotNull String get(@NotNull String key)
     {
-        ConfigurationHolder language = getLanguage(currentLocale.get());
+        return get(table(currentLocale.get()), key);
+    }
 
-        if (language == null) {
-            return defaultLanguage.getString(key).orElse("[Key not found: " + key + "]");
-        } else {
-            return language.config().getString(key).orElseGet(() -> defaultLanguage.getString(key).orElse("[Key not found: " + key + "]"));
-        }
+    private @NotNull String get(@NotNull LocaleTable<X> table, @NotNull String key)
+    {
+        String message = table.get(key);
+        return message == null ? missingKeys.computeIfAbsent(key, k -> "[Key not found: " + k + "]") : message;
     }
 
     /**
@@ -297,4 +973,47 @@ public abstract class LanguageHolder<X, Y>
             return language.config().getString(key).orElse(def);
         }
     }
-}
+
+    /**
+     * Sends messages of a broadcast to the receivers, allowing them to be sent in the thread of each receiver.
+     *
+     * @param <Y> The receiver type.
+     * @see #broadcast(Collection, String, Dispatcher, Object...)
+     */
+    @FunctionalInterface
+    public interface Dispatcher<Y>
+    {
+        /**
+         * Runs the sending of the message to the receiver.
+         *
+         * @param receiver The receiver of the message.
+         * @param send     The task that sends the formatted message to the receiver.
+         */
+        void dispatch(@NotNull Y receiver, @NotNull Runnable send);
+    }
+
+    private static final class Broadcast<X>
+    {
+        // The message formatted for a locale, null if the message is empty.
+        private final @Nullable X message;
+        private final long cooldown;
+
+        private Broadcast(@Nullable X message, long cooldown)
+        {
+            this.message = message;
+            this.cooldown = cooldown;
+        }
+    }
+
+    private static final class BundledLanguage
+    {
+        private final @NotNull Path file;
+        private final long defaultsHash;
+
+        private BundledLanguage(@NotNull Path file, long defaultsHash)
+        {
+            this.file = file;
+            this.defaultsHash = defaultsHash;
+        }
+    }
+}
\ No newline at end of file
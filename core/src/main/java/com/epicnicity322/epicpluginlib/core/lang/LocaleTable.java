@@ -0,0 +1,167 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.lang;
+
+import com.epicnicity322.epicpluginlib.core.config.ConfigurationHolder;
+import com.epicnicity322.yamlhandler.Configuration;
+import com.epicnicity322.yamlhandler.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable snapshot of the messages of a locale, flattened into a single map that already contains the messages
+ * of the default language for the keys missing in the locale. Tables are built once per generation of the language,
+ * along with the messages compiled and colored from them, so reloading the language discards them all at once.
+ *
+ * @param <X> The colored messages type.
+ */
+final class LocaleTable<X>
+{
+    final @Nullable ConfigurationHolder language;
+    final long generation;
+    final @NotNull String prefix;
+    private final @NotNull Map<String, String> messages;
+    final @NotNull ConcurrentHashMap<String, Compiled<X>> compiled = new ConcurrentHashMap<>();
+    // The messages with their color codes formatted, as they are in the table.
+    final @NotNull ConcurrentHashMap<String, X> colored = new ConcurrentHashMap<>();
+    // Raw messages sent with and without the prefix, keyed by the message with properties.
+    final @NotNull ConcurrentHashMap<String, Compiled<X>> sent = new ConcurrentHashMap<>();
+    final @NotNull ConcurrentHashMap<String, Compiled<X>> sentWithoutPrefix = new ConcurrentHashMap<>();
+    // When a message was last got from this table, to unload idle languages.
+    volatile long lastUsed = System.currentTimeMillis();
+
+    private LocaleTable(@Nullable ConfigurationHolder language, long generation, @NotNull String prefix, @NotNull Map<String, String> messages)
+    {
+        this.language = language;
+        this.generation = generation;
+        this.prefix = prefix;
+        this.messages = messages;
+    }
+
+    /**
+     * Marks this table as used now. The time is only written when it is older than the resolution, so messages got
+     * from many threads don't all write to the same field.
+     *
+     * @param now The current time in milliseconds.
+     */
+    void use(long now)
+    {
+        if (now - lastUsed >= LanguageHolder.USE_RESOLUTION) lastUsed = now;
+    }
+
+    /**
+     * Builds the table of the default language.
+     *
+     * @param defaultLanguage The configuration of the default language.
+     * @return The table with the messages of the default language.
+     */
+    static <X> @NotNull LocaleTable<X> ofDefault(@NotNull Configuration defaultLanguage)
+    {
+        return new LocaleTable<>(null, -1, defaultLanguage.getString("General.Prefix").orElse(""), flatten(defaultLanguage, new HashMap<>()));
+    }
+
+    /**
+     * Builds the table of a language, with the current configuration of the holder.
+     *
+     * @param language     The holder of the language.
+     * @param defaultTable The table of the default language, to get the missing messages from.
+     * @return The table with the messages of the language.
+     */
+    static <X> @NotNull LocaleTable<X> of(@NotNull ConfigurationHolder language, @NotNull LocaleTable<?> defaultTable)
+    {
+        ConfigurationHolder.Snapshot snapshot = language.snapshot();
+        Configuration config = snapshot.config();
+        // The prefix does not fall back to the default language.
+        String prefix = config.getString("General.Prefix").orElse("");
+
+        return new LocaleTable<>(language, snapshot.generation(), prefix, flatten(config, new HashMap<>(defaultTable.messages)));
+    }
+
+    /**
+     * Builds the table of a language read from a compiled bundle. Tables of bundles have no holder, so they are always
+     * current.
+     *
+     * @param bundle       The bundle of the language.
+     * @param defaultTable The table of the default language, to get the missing messages from.
+     * @return The table with the messages of the language.
+     */
+    static <X> @NotNull LocaleTable<X> of(@NotNull LanguageBundle bundle, @NotNull LocaleTable<?> defaultTable)
+    {
+        Map<String, String> bundled = bundle.messages();
+        HashMap<String, String> messages = new HashMap<>(defaultTable.messages);
+        messages.putAll(bundled);
+        String prefix = bundled.get("General.Prefix");
+
+        return new LocaleTable<>(null, -1, prefix == null ? "" : prefix, messages);
+    }
+
+    static @NotNull Map<String, String> flatten(@NotNull Configuration config, @NotNull HashMap<String, String> messages)
+    {
+        for (Map.Entry<String, Object> node : config.getAbsoluteNodes().entrySet()) {
+            if (node.getValue() instanceof ConfigurationSection) continue;
+
+            String key = node.getKey();
+            config.getString(key).ifPresent(message -> messages.put(key, message));
+        }
+
+        return messages;
+    }
+
+    /**
+     * @param language The current holder of the locale, null if the locale has no language or was read from a bundle.
+     * @return Whether this table has the messages of the current configuration of this language.
+     */
+    boolean isCurrent(@Nullable ConfigurationHolder language)
+    {
+        return this.language == language && (language == null || language.generation() == generation);
+    }
+
+    /**
+     * @param key The key of the message.
+     * @return The message, or null if neither the locale nor the default language has this key.
+     */
+    @Nullable String get(@NotNull String key)
+    {
+        return messages.get(key);
+    }
+
+    /**
+     * A message compiled for a locale.
+     *
+     * @param <X> The colored messages type.
+     */
+    static final class Compiled<X>
+    {
+        final @NotNull MessageTemplate template;
+        final @Nullable String prefix;
+        // The colored message with no placeholders replaced, null if the message is empty.
+        final @Nullable X colored;
+
+        Compiled(@NotNull MessageTemplate template, @Nullable String prefix, @Nullable X colored)
+        {
+            this.template = template;
+            this.prefix = prefix;
+            this.colored = colored;
+        }
+    }
+}
\ No newline at end of file
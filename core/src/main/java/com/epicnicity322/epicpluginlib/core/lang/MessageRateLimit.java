@@ -0,0 +1,247 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.lang;
+
+import com.epicnicity322.epicpluginlib.core.scheduler.TaskFactory;
+import com.epicnicity322.epicpluginlib.core.util.TokenBucketLimiter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Limits the rate of messages sent by a {@link LanguageHolder} to each receiver, using a {@link TokenBucketLimiter}.
+ * <p>
+ * Messages of a receiver share the same bucket, unless a function of categories is given, so messages with keys of
+ * different categories are limited separately. Messages sent without a key are limited in the default category "".
+ * Receivers without a UUID, such as the console, are never limited.
+ * <p>
+ * Buckets that are full again are purged while messages are sent, at most once per minute, or once per the time a
+ * bucket takes to refill completely if that's longer. Call {@link #reset(UUID)} when a receiver leaves to remove its
+ * buckets and coalesced messages right away.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * // Bursts of 3 region messages, then one every 2 seconds, only the latest one is sent.
+ * lang.setRateLimit(new MessageRateLimit(new TokenBucketLimiter(3, 2000), MessageRateLimit.Policy.COALESCE,
+ *         taskFactory.global(), key -> key.startsWith("Region.") ? "region" : ""));
+ * }</pre>
+ *
+ * @see LanguageHolder#setRateLimit(MessageRateLimit)
+ */
+public final class MessageRateLimit
+{
+    private static final long TICK_MILLIS = 50;
+    private static final long MIN_PURGE_INTERVAL_MILLIS = 60_000;
+    private final @NotNull TokenBucketLimiter limiter;
+    private final @NotNull Policy policy;
+    private final @Nullable TaskFactory.Global scheduler;
+    private final @Nullable Function<String, String> categories;
+    private final @NotNull ConcurrentHashMap<Pending, Runnable> pending = new ConcurrentHashMap<>();
+    private final long purgeIntervalMillis;
+    private final @NotNull AtomicLong lastPurge = new AtomicLong(System.nanoTime() / 1_000_000);
+
+    /**
+     * Limits every message of a receiver in the same bucket.
+     *
+     * @param limiter   The limiter of the buckets of the receivers.
+     * @param policy    What happens to the messages over the rate limit.
+     * @param scheduler The scheduler of the messages sent later, only required by {@link Policy#COALESCE} and
+     *                  {@link Policy#DELAY}.
+     * @throws IllegalArgumentException If the policy sends messages later and the scheduler is null.
+     */
+    public MessageRateLimit(@NotNull TokenBucketLimiter limiter, @NotNull Policy policy, @Nullable TaskFactory.Global scheduler)
+    {
+        this(limiter, policy, scheduler, null);
+    }
+
+    /**
+     * Limits the messages of a receiver in a bucket for each category of message keys.
+     *
+     * @param limiter    The limiter of the buckets of the receivers.
+     * @param policy     What happens to the messages over the rate limit.
+     * @param scheduler  The scheduler of the messages sent later, only required by {@link Policy#COALESCE} and
+     *                   {@link Policy#DELAY}.
+     * @param categories The function to get the category of a message key, null to limit every message together.
+     * @throws IllegalArgumentException If the policy sends messages later and the scheduler is null.
+     */
+    public MessageRateLimit(@NotNull TokenBucketLimiter limiter, @NotNull Policy policy, @Nullable TaskFactory.Global scheduler, @Nullable Function<String, String> categories)
+    {
+        if (scheduler == null && policy != Policy.DROP)
+            throw new IllegalArgumentException("Policy " + policy + " requires a scheduler.");
+
+        this.limiter = limiter;
+        this.policy = policy;
+        this.scheduler = scheduler;
+        this.categories = categories;
+        this.purgeIntervalMillis = Math.max(MIN_PURGE_INTERVAL_MILLIS, limiter.capacity() * limiter.refillMillis());
+    }
+
+    public @NotNull TokenBucketLimiter limiter()
+    {
+        return limiter;
+    }
+
+    public @NotNull Policy policy()
+    {
+        return policy;
+    }
+
+    /**
+     * Removes the buckets of the receiver and drops its coalesced messages waiting to be sent. Use this when the
+     * receiver leaves, for example.
+     *
+     * @param receiver The UUID of the receiver.
+     */
+    public void reset(@NotNull UUID receiver)
+    {
+        limiter.reset(receiver);
+        pending.keySet().removeIf(pendingKey -> pendingKey.receiver.equals(receiver));
+    }
+
+    /**
+     * Tests whether a message can be sent to the receiver now. If not, the message is dropped, or scheduled to be sent
+     * later according to the policy.
+     *
+     * @param receiver The UUID of the receiver.
+     * @param key      The key of the message, null if the message was sent without a key.
+     * @param send     The task that sends the message, in case it's sent later.
+     * @return Whether the message should be sent now.
+     */
+    boolean tryPass(@NotNull UUID receiver, @Nullable String key, @NotNull Runnable send)
+    {
+        purgeIfDue();
+        String category = category(key);
+
+        switch (policy) {
+            case DELAY: {
+                long wait = limiter.reserve(receiver, category);
+                if (wait == 0) return true;
+                // Too many messages waiting, the message is dropped.
+                if (wait < 0) return false;
+
+                schedule(wait, send);
+                return false;
+            }
+            case COALESCE: {
+                Pending pendingKey = new Pending(receiver, category);
+
+                // A message is already waiting, the latest one replaces it.
+                if (pending.computeIfPresent(pendingKey, (k, previous) -> send) != null) return false;
+                if (limiter.tryAcquire(receiver, category)) return true;
+
+                if (pending.put(pendingKey, send) == null) {
+                    schedule(limiter.millisUntilAvailable(receiver, category), () -> flush(pendingKey));
+                }
+                return false;
+            }
+            default:
+                return limiter.tryAcquire(receiver, category);
+        }
+    }
+
+    private void purgeIfDue()
+    {
+        long now = System.nanoTime() / 1_000_000;
+        long last = lastPurge.get();
+
+        // Only the thread that updates the time purges.
+        if (now - last >= purgeIntervalMillis && lastPurge.compareAndSet(last, now)) limiter.purge();
+    }
+
+    private @NotNull String category(@Nullable String key)
+    {
+        if (key == null || categories == null) return "";
+        String category = categories.apply(key);
+        return category == null ? "" : category;
+    }
+
+    private void flush(@NotNull Pending pendingKey)
+    {
+        // Dropped by a reset of the receiver.
+        if (!pending.containsKey(pendingKey)) return;
+
+        if (!limiter.tryAcquire(pendingKey.receiver, pendingKey.category)) {
+            schedule(limiter.millisUntilAvailable(pendingKey.receiver, pendingKey.category), () -> flush(pendingKey));
+            return;
+        }
+
+        Runnable send = pending.remove(pendingKey);
+        if (send != null) send.run();
+    }
+
+    private void schedule(long millis, @NotNull Runnable task)
+    {
+        // The scheduler is never null for policies that send messages later.
+        Objects.requireNonNull(scheduler).delayed(Math.max(1, (millis + TICK_MILLIS - 1) / TICK_MILLIS), scheduled -> task.run());
+    }
+
+    /**
+     * What happens to the messages sent over the rate limit.
+     */
+    public enum Policy
+    {
+        /**
+         * Messages over the rate limit are not sent.
+         */
+        DROP,
+        /**
+         * Only the latest message over the rate limit is sent, once the receiver gets a token back.
+         */
+        COALESCE,
+        /**
+         * Messages over the rate limit are sent in order, each once the receiver gets a token back for it. Messages are
+         * dropped once more messages than the capacity of the limiter are waiting.
+         */
+        DELAY
+    }
+
+    private static final class Pending
+    {
+        private final @NotNull UUID receiver;
+        private final @NotNull String category;
+
+        private Pending(@NotNull UUID receiver, @NotNull String category)
+        {
+            this.receiver = receiver;
+            this.category = category;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object other)
+        {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+
+            Pending that = (Pending) other;
+
+            return receiver.equals(that.receiver) && category.equals(that.category);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * receiver.hashCode() + category.hashCode();
+        }
+    }
+}
\ No newline at end of file
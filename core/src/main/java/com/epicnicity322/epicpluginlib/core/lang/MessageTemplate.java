@@ -0,0 +1,167 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.lang;
+
+import com.epicnicity322.epicpluginlib.core.util.PlaceholderTemplate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * An immutable message, with its properties parsed and its text compiled into a {@link PlaceholderTemplate}.
+ * <p>
+ * The properties are parsed the same way {@link LanguageHolder#send(Object, boolean, String)} describes. Placeholders
+ * are names enclosed in angle brackets, such as {@code <player>}, and are replaced by the values given to
+ * {@link #render(String, Object...)}. Placeholders with no value given are kept as they are in the message.
+ *
+ * @see LanguageHolder#sendKey(Object, String, Object...)
+ */
+public final class MessageTemplate
+{
+    private final boolean prefix;
+    private final long cooldown;
+    private final @NotNull PlaceholderTemplate body;
+
+    private MessageTemplate(boolean prefix, long cooldown, @NotNull PlaceholderTemplate body)
+    {
+        this.prefix = prefix;
+        this.cooldown = cooldown;
+        this.body = body;
+    }
+
+    /**
+     * Parses the properties and placeholders of the message.
+     *
+     * @param message The message with properties.
+     * @return The compiled message.
+     */
+    public static @NotNull MessageTemplate compile(@NotNull String message)
+    {
+        return parse(message, true);
+    }
+
+    /**
+     * Parses only the properties of the message. The message is not scanned for placeholders, so it's always rendered
+     * as it is, making this cheaper than {@link #compile(String)} for messages that have no placeholder values.
+     *
+     * @param message The message with properties.
+     * @return The message with the properties parsed and no placeholders.
+     */
+    public static @NotNull MessageTemplate literal(@NotNull String message)
+    {
+        return parse(message, false);
+    }
+
+    private static @NotNull MessageTemplate parse(@NotNull String message, boolean placeholders)
+    {
+        boolean prefix = true;
+        long cooldown = -1;
+
+        // Messages starting with '<' could have message-specific properties.
+        if (!message.isEmpty() && message.charAt(0) == '<') {
+            int spaceIndex = message.indexOf(' ');
+
+            if (spaceIndex != -1) {
+                int start = 0;
+
+                while (start < spaceIndex && message.charAt(start) == '<') {
+                    int end = message.indexOf('>', start);
+                    if (end == -1 || end > spaceIndex) end = spaceIndex;
+
+                    if (message.startsWith("noprefix", start + 1) && end == start + 9) {
+                        prefix = false;
+                    } else if (message.startsWith("cooldown=", start + 1)) {
+                        try {
+                            cooldown = Long.parseLong(message.substring(start + 10, end));
+                        } catch (NumberFormatException ignored) {
+                            // Properties silently fail.
+                        }
+                    } else break;
+
+                    start = end + 1;
+                }
+
+                message = message.substring(spaceIndex + 1);
+            }
+        }
+
+        return new MessageTemplate(prefix, cooldown, placeholders ? PlaceholderTemplate.compile(message) : PlaceholderTemplate.literal(message));
+    }
+
+    /**
+     * @return Whether the message should be sent with the prefix, false if the message has the noprefix property.
+     */
+    public boolean prefix()
+    {
+        return prefix;
+    }
+
+    /**
+     * @return The cooldown property of the message in milliseconds, or -1 if the message has no cooldown.
+     */
+    public long cooldown()
+    {
+        return cooldown;
+    }
+
+    /**
+     * @return The message without the properties.
+     */
+    public @NotNull String body()
+    {
+        return body.text();
+    }
+
+    /**
+     * @return The placeholder template of the message without the properties.
+     */
+    public @NotNull PlaceholderTemplate template()
+    {
+        return body;
+    }
+
+    /**
+     * @return Whether the message has any placeholder.
+     */
+    public boolean hasPlaceholders()
+    {
+        return body.hasPlaceholders();
+    }
+
+    /**
+     * @return The names of the placeholders of this message, in the order they appear.
+     */
+    public @NotNull List<String> placeholders()
+    {
+        return body.placeholders();
+    }
+
+    /**
+     * Renders the message replacing the placeholders in a single pass.
+     *
+     * @param prefix       The text to add to the start of the message, null for none.
+     * @param placeholders Alternating placeholder names and values. E.g. {@code "player", player.getName()}.
+     * @return The rendered message.
+     */
+    public @NotNull String render(@Nullable String prefix, @Nullable Object @NotNull ... placeholders)
+    {
+        return body.renderAfter(prefix, placeholders);
+    }
+}
\ No newline at end of file
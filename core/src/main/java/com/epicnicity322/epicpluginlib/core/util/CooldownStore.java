@@ -0,0 +1,248 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * A thread-safe store of cooldowns, keyed by an owner, such as the UUID of a player, and a key, such as a message key
+ * or an action name.
+ * <p>
+ * Cooldowns are primitive timestamps updated with compare-and-set, so acquiring a cooldown never blocks. Expired
+ * cooldowns are removed by a timer wheel, which is advanced by the calls to this store, so the store does not grow
+ * with owners that are no longer used. A cooldown is removed at most one second after it ends, once the store is used
+ * again.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * if (cooldowns.tryAcquire(player.getUniqueId(), "teleport", 5000)) {
+ *     teleport(player);
+ * }
+ * }</pre>
+ */
+public final class CooldownStore
+{
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final long FREE = 0;
+    private static final long DEAD = -1;
+    private static final @NotNull AtomicLongFieldUpdater<Slot> UNTIL = AtomicLongFieldUpdater.newUpdater(Slot.class, "until");
+    private final @NotNull ConcurrentHashMap<UUID, ConcurrentHashMap<String, Slot>> cooldowns = new ConcurrentHashMap<>();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final @NotNull ConcurrentLinkedQueue<Slot>[] wheel = new ConcurrentLinkedQueue[WHEEL_SIZE];
+    // The last tick whose bucket was expired. Only ticks that have fully elapsed are expired.
+    private final @NotNull AtomicLong lastTick = new AtomicLong(System.currentTimeMillis() / TICK_MILLIS - 1);
+    private final @NotNull AtomicBoolean advancing = new AtomicBoolean();
+
+    public CooldownStore()
+    {
+        for (int i = 0; i < WHEEL_SIZE; i++) wheel[i] = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Starts the cooldown of this key for the owner, if it's not already in cooldown.
+     *
+     * @param owner          The owner of the cooldown.
+     * @param key            The key of the cooldown.
+     * @param cooldownMillis The time in milliseconds the key stays in cooldown.
+     * @return Whether the cooldown was started, false if the key is already in cooldown for this owner.
+     */
+    public boolean tryAcquire(@NotNull UUID owner, @NotNull String key, long cooldownMillis)
+    {
+        long now = System.currentTimeMillis();
+        advance(now);
+
+        while (true) {
+            ConcurrentHashMap<String, Slot> slots = cooldowns.computeIfAbsent(owner, k -> new ConcurrentHashMap<>(4));
+            Slot slot = slots.computeIfAbsent(key, k -> new Slot(owner, key));
+            // The map was removed for being empty before the slot was added to it.
+            if (cooldowns.get(owner) != slots) continue;
+            long until = slot.until;
+
+            if (until == DEAD) {
+                // Expired by the wheel while this thread was getting it.
+                slots.remove(key, slot);
+                continue;
+            }
+
+            if (now <= until) return false;
+
+            if (UNTIL.compareAndSet(slot, until, now + cooldownMillis)) {
+                if (!slot.scheduled) {
+                    slot.scheduled = true;
+                    schedule(slot, now + cooldownMillis);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param owner The owner of the cooldown.
+     * @param key   The key of the cooldown.
+     * @return Whether the key is in cooldown for this owner.
+     */
+    public boolean isOnCooldown(@NotNull UUID owner, @NotNull String key)
+    {
+        return remainingMillis(owner, key) > 0;
+    }
+
+    /**
+     * @param owner The owner of the cooldown.
+     * @param key   The key of the cooldown.
+     * @return The time in milliseconds until the cooldown of this key ends for this owner, 0 if not in cooldown.
+     */
+    public long remainingMillis(@NotNull UUID owner, @NotNull String key)
+    {
+        long now = System.currentTimeMillis();
+        advance(now);
+        ConcurrentHashMap<String, Slot> slots = cooldowns.get(owner);
+        if (slots == null) return 0;
+        Slot slot = slots.get(key);
+        if (slot == null) return 0;
+
+        return Math.max(0, slot.until - now + 1);
+    }
+
+    /**
+     * Ends the cooldown of this key for the owner.
+     *
+     * @param owner The owner of the cooldown.
+     * @param key   The key of the cooldown.
+     */
+    public void reset(@NotNull UUID owner, @NotNull String key)
+    {
+        ConcurrentHashMap<String, Slot> slots = cooldowns.get(owner);
+        if (slots == null) return;
+        Slot slot = slots.get(key);
+        if (slot == null) return;
+
+        while (true) {
+            long until = slot.until;
+            // Dead slots are already out of the store.
+            if (until <= FREE || UNTIL.compareAndSet(slot, until, FREE)) return;
+        }
+    }
+
+    /**
+     * Ends the cooldowns of every key of the owner. Use this when the owner leaves, for example.
+     *
+     * @param owner The owner of the cooldowns.
+     */
+    public void reset(@NotNull UUID owner)
+    {
+        ConcurrentHashMap<String, Slot> slots = cooldowns.get(owner);
+        if (slots == null) return;
+        for (String key : slots.keySet()) reset(owner, key);
+    }
+
+    /**
+     * @return The amount of cooldowns kept by this store, including the expired ones that were not yet removed.
+     */
+    public int size()
+    {
+        int size = 0;
+        for (ConcurrentHashMap<String, Slot> slots : cooldowns.values()) size += slots.size();
+        return size;
+    }
+
+    /**
+     * Removes every expired cooldown now, instead of waiting for the timer wheel to reach them.
+     */
+    public void purge()
+    {
+        long now = System.currentTimeMillis();
+
+        for (ConcurrentLinkedQueue<Slot> bucket : wheel) expire(bucket, now);
+    }
+
+    private void schedule(@NotNull Slot slot, long until)
+    {
+        wheel[(int) ((until / TICK_MILLIS) & WHEEL_MASK)].add(slot);
+    }
+
+    private void advance(long now)
+    {
+        // The current tick is not over yet, slots due later in it would wait a whole revolution if it was expired now.
+        long elapsed = now / TICK_MILLIS - 1;
+        if (elapsed <= lastTick.get() || !advancing.compareAndSet(false, true)) return;
+
+        try {
+            long from = lastTick.get();
+            // After a long idle time, every bucket is expired once.
+            long to = Math.min(elapsed, from + WHEEL_SIZE);
+
+            for (long t = from + 1; t <= to; t++) expire(wheel[(int) (t & WHEEL_MASK)], now);
+
+            lastTick.set(elapsed);
+        } finally {
+            advancing.set(false);
+        }
+    }
+
+    private void expire(@NotNull ConcurrentLinkedQueue<Slot> bucket, long now)
+    {
+        // Only the slots in the bucket right now, slots rescheduled to this bucket are checked on the next round.
+        for (int remaining = bucket.size(); remaining > 0; remaining--) {
+            Slot slot = bucket.poll();
+            if (slot == null) break;
+
+            long until = slot.until;
+
+            if (until >= now) {
+                schedule(slot, until);
+            } else if (UNTIL.compareAndSet(slot, until, DEAD)) {
+                ConcurrentHashMap<String, Slot> slots = cooldowns.get(slot.owner);
+
+                if (slots != null) {
+                    slots.remove(slot.key, slot);
+                    // Checked and removed atomically, so a slot added in the meantime is not removed with the map.
+                    cooldowns.computeIfPresent(slot.owner, (k, current) -> current.isEmpty() ? null : current);
+                }
+            } else {
+                // Acquired again while expiring.
+                schedule(slot, slot.until);
+            }
+        }
+    }
+
+    private static final class Slot
+    {
+        private final @NotNull UUID owner;
+        private final @NotNull String key;
+        // Not private, so the field updater can access it.
+        volatile long until = FREE;
+        // Only the thread that acquires a fresh slot schedules it, afterward the wheel reschedules it.
+        private volatile boolean scheduled = false;
+
+        private Slot(@NotNull UUID owner, @NotNull String key)
+        {
+            this.owner = owner;
+            this.key = key;
+        }
+    }
+}
\ No newline at end of file
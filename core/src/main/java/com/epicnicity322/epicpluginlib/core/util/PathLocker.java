@@ -19,52 +19,428 @@
 package com.epicnicity322.epicpluginlib.core.util;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * A class that provides global locks for paths.
+ * A class that provides global read/write locks for paths.
  * <p>
- * When a lock is created by this class, it is saved in a map, which will allow for providing the same lock for a
- * {@link Path}. The lock is automatically removed from the map when it is unlocked.
+ * Shared locks can be held by many threads at the same time, while an exclusive lock is held by a single thread. Use
+ * shared locks for reading and exclusive locks for writing. Both are reentrant, and a thread holding the exclusive
+ * lock may also take the shared lock, but a thread holding only the shared lock must not take the exclusive lock,
+ * otherwise it will wait forever.
+ * <p>
+ * Lock entries are pooled in a map, which will allow for providing the same lock for a {@link Path}. Idle entries are
+ * only removed once the pool grows past a limit. The canonical form of the paths is also cached, so the file system
+ * is not queried on every acquisition. Use {@link #invalidate(Path)} if a path is replaced by a symbolic link.
+ * <p>
+ * By default, locks only serialize threads of this JVM. If {@link #setInterProcess(boolean)} is enabled, an OS-level
+ * {@link FileLock} is also taken on a sidecar lock file, named ".&lt;file name&gt;.lock" in the same directory, so
+ * processes sharing the same directory also serialize their access. Sidecar files are not deleted, as deleting them
+ * while another process waits for the lock would break the exclusion.
  *
  * @see LockToken
  */
 public final class PathLocker
 {
-    private static final @NotNull ConcurrentHashMap<Path, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private static final @NotNull ConcurrentHashMap<Path, Entry> locks = new ConcurrentHashMap<>();
+    private static final @NotNull ConcurrentHashMap<Path, Path> canonicalPaths = new ConcurrentHashMap<>();
+    private static final int MAX_POOLED_ENTRIES = 256;
+    private static final int MAX_CACHED_PATHS = 4096;
+    private static final long RETRY_MILLIS = 10;
+    private static final @NotNull AtomicBoolean sweeping = new AtomicBoolean();
+    private static final @NotNull LongAdder acquisitions = new LongAdder();
+    private static final @NotNull LongAdder timeouts = new LongAdder();
+    private static final @NotNull LongAdder totalWaitNanos = new LongAdder();
+    private static final @NotNull AtomicLong maxWaitNanos = new AtomicLong();
+    private static volatile boolean interProcess = false;
 
     private PathLocker()
     {
     }
 
     /**
-     * Creates and locks a new lock for the specified path, if one doesn't already exist. Otherwise, obtains the global
-     * lock for this path, locks it, and returns a new {@link LockToken}.
+     * Whether locks should also take an OS-level lock on a sidecar file, so other processes using {@link PathLocker}
+     * in the same directories are also excluded. Only locks acquired after this is set are affected.
+     *
+     * @param interProcess Whether locks should also exclude other processes.
+     */
+    public static void setInterProcess(boolean interProcess)
+    {
+        PathLocker.interProcess = interProcess;
+    }
+
+    /**
+     * @return Whether locks also exclude other processes.
+     * @see #setInterProcess(boolean)
+     */
+    public static boolean isInterProcess()
+    {
+        return interProcess;
+    }
+
+    /**
+     * Obtains the global exclusive lock for this path, locks it, and returns a new {@link LockToken}.
      * <p>
      * The provided path is guaranteed to return the same lock as other Path instances, as it uses
-     * {@link Path#toRealPath(LinkOption...)} when possible, otherwise {@link Path#toAbsolutePath()}.
+     * {@link Path#toRealPath(LinkOption...)} when possible, otherwise the real path of the parent directory.
      *
      * @param path The path to obtain a global lock for.
      * @return The global lock for this path.
+     * @throws UncheckedIOException If inter-process locking is enabled and the sidecar lock file could not be locked.
+     * @see #lockExclusive(Path)
      */
     public static @NotNull LockToken lock(@NotNull Path path)
+    {
+        try {
+            return lockExclusive(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Locks the global shared or exclusive lock for this path, waiting as long as necessary.
+     *
+     * @param path   The path to obtain a global lock for.
+     * @param shared Whether the shared lock should be locked instead of the exclusive lock.
+     * @return The global lock for this path.
+     * @throws IOException If inter-process locking is enabled and the sidecar lock file could not be locked.
+     * @see #lockShared(Path)
+     * @see #lockExclusive(Path)
+     */
+    public static @NotNull LockToken lock(@NotNull Path path, boolean shared) throws IOException
+    {
+        try {
+            LockToken token = acquire(path, shared, -1);
+            if (token == null) throw new IllegalStateException("Lock without timeout timed out.");
+            return token;
+        } catch (InterruptedException e) {
+            // Only the sidecar lock is interruptible.
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the lock of " + path);
+        }
+    }
+
+    /**
+     * Locks the global shared lock for this path, waiting while another thread holds the exclusive lock. Many threads
+     * can hold the shared lock at the same time.
+     *
+     * @param path The path to obtain a global lock for.
+     * @return The global lock for this path.
+     * @throws IOException If inter-process locking is enabled and the sidecar lock file could not be locked.
+     */
+    public static @NotNull LockToken lockShared(@NotNull Path path) throws IOException
+    {
+        return lock(path, true);
+    }
+
+    /**
+     * Locks the global exclusive lock for this path, waiting while other threads hold the shared or exclusive lock.
+     *
+     * @param path The path to obtain a global lock for.
+     * @return The global lock for this path.
+     * @throws IOException If inter-process locking is enabled and the sidecar lock file could not be locked.
+     */
+    public static @NotNull LockToken lockExclusive(@NotNull Path path) throws IOException
+    {
+        return lock(path, false);
+    }
+
+    /**
+     * Attempts to lock the global shared or exclusive lock for this path within the specified time.
+     *
+     * @param path    The path to obtain a global lock for.
+     * @param shared  Whether the shared lock should be locked instead of the exclusive lock.
+     * @param timeout The maximum time to wait for the lock.
+     * @param unit    The unit of the timeout.
+     * @return The global lock for this path, or null if the time elapsed before the lock was acquired.
+     * @throws IOException          If inter-process locking is enabled and the sidecar lock file could not be locked.
+     * @throws InterruptedException If the thread was interrupted while waiting.
+     */
+    public static @Nullable LockToken tryLock(@NotNull Path path, boolean shared, long timeout, @NotNull TimeUnit unit) throws IOException, InterruptedException
+    {
+        return acquire(path, shared, Math.max(0, unit.toNanos(timeout)));
+    }
+
+    /**
+     * Removes the cached canonical form of this path, and of every path inside it if it's a directory. Use this when a
+     * path or one of its parents is replaced by a symbolic link.
+     *
+     * @param path The path to invalidate.
+     */
+    public static void invalidate(@NotNull Path path)
+    {
+        Path absolute = path.toAbsolutePath().normalize();
+        canonicalPaths.keySet().removeIf(cached -> cached.equals(path) || cached.toAbsolutePath().normalize().startsWith(absolute));
+    }
+
+    /**
+     * Removes every cached canonical path.
+     */
+    public static void invalidateAll()
+    {
+        canonicalPaths.clear();
+    }
+
+    private static @Nullable LockToken acquire(@NotNull Path path, boolean shared, long timeoutNanos) throws IOException, InterruptedException
     {
         Path key = canonicalPath(path);
-        ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
-        lock.lock();
-        return new LockToken(key, lock);
+        Entry entry = retain(key);
+        Lock lock = shared ? entry.lock.readLock() : entry.lock.writeLock();
+        long start = System.nanoTime();
+        long deadline = start + timeoutNanos;
+        boolean locked = false;
+        LockToken token = null;
+
+        try {
+            if (timeoutNanos < 0) {
+                lock.lock();
+                locked = true;
+            } else {
+                locked = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+
+            if (!locked) {
+                timeouts.increment();
+                return null;
+            }
+
+            boolean ownsFileLock = false;
+
+            if (interProcess) {
+                long remaining = timeoutNanos < 0 ? -1 : Math.max(0, deadline - System.nanoTime());
+
+                if (shared) {
+                    // The exclusive sidecar lock of this thread already covers its shared acquisitions.
+                    if (!entry.lock.isWriteLockedByCurrentThread()) {
+                        if (!entry.joinShared(key, remaining)) {
+                            timeouts.increment();
+                            return null;
+                        }
+                        ownsFileLock = true;
+                    }
+                } else if (entry.lock.getWriteHoldCount() == 1) {
+                    // Reentrant acquisitions already hold the sidecar lock.
+                    if (!entry.lockFile(key, false, remaining)) {
+                        timeouts.increment();
+                        return null;
+                    }
+                    ownsFileLock = true;
+                }
+            }
+
+            long waited = System.nanoTime() - start;
+            acquisitions.increment();
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+            token = new LockToken(entry, shared, ownsFileLock, waited);
+            return token;
+        } finally {
+            if (token == null) {
+                if (locked) lock.unlock();
+                release(entry);
+            }
+        }
+    }
+
+    private static @NotNull Entry retain(@NotNull Path key)
+    {
+        while (true) {
+            Entry entry = locks.computeIfAbsent(key, k -> new Entry());
+            int references = entry.references.get();
+
+            if (references < 0) {
+                // Retired by a sweep, but not yet removed.
+                locks.remove(key, entry);
+            } else if (entry.references.compareAndSet(references, references + 1)) {
+                return entry;
+            }
+        }
+    }
+
+    private static void release(@NotNull Entry entry)
+    {
+        entry.references.decrementAndGet();
+
+        if (locks.size() > MAX_POOLED_ENTRIES && sweeping.compareAndSet(false, true)) {
+            try {
+                for (Map.Entry<Path, Entry> pooled : locks.entrySet()) {
+                    if (pooled.getValue().references.compareAndSet(0, -1)) locks.remove(pooled.getKey(), pooled.getValue());
+                }
+            } finally {
+                sweeping.set(false);
+            }
+        }
     }
 
     private static @NotNull Path canonicalPath(@NotNull Path path)
+    {
+        Path cached = canonicalPaths.get(path);
+        if (cached != null) return cached;
+
+        Path resolved = resolve(path);
+
+        // Only successful resolutions are cached.
+        if (resolved == null) return path.toAbsolutePath().normalize();
+        if (canonicalPaths.size() >= MAX_CACHED_PATHS) canonicalPaths.clear();
+        canonicalPaths.put(path, resolved);
+        return resolved;
+    }
+
+    private static @Nullable Path resolve(@NotNull Path path)
     {
         try {
             return path.toRealPath(); // resolves symlinks
-        } catch (Exception e) {
-            return path.toAbsolutePath().normalize();
+        } catch (IOException | SecurityException ignored) {
+        }
+
+        // The file doesn't exist yet, resolving the parent keeps the key the same once it's created.
+        Path absolute = path.toAbsolutePath().normalize();
+        Path parent = absolute.getParent();
+        Path name = absolute.getFileName();
+        if (parent == null || name == null) return null;
+
+        try {
+            return parent.toRealPath().resolve(name.toString());
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the statistics of the time threads waited to acquire locks, since the start or the last
+     * {@link #resetStatistics()}.
+     *
+     * @return A snapshot of the current lock statistics.
+     */
+    public static @NotNull Statistics statistics()
+    {
+        return new Statistics(acquisitions.sum(), timeouts.sum(), totalWaitNanos.sum(), maxWaitNanos.get());
+    }
+
+    /**
+     * Resets the lock wait statistics to zero.
+     */
+    public static void resetStatistics()
+    {
+        acquisitions.reset();
+        timeouts.reset();
+        totalWaitNanos.reset();
+        maxWaitNanos.set(0);
+    }
+
+    private static final class Entry
+    {
+        private final @NotNull ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // Threads that retained this entry, or -1 if it was removed from the pool.
+        private final @NotNull AtomicInteger references = new AtomicInteger();
+        // Guards the sidecar lock while threads hold the shared lock.
+        private final @NotNull ReentrantLock fileGuard = new ReentrantLock();
+        private int sharedHolders = 0;
+        private @Nullable FileChannel channel;
+        private @Nullable FileLock fileLock;
+
+        private boolean joinShared(@NotNull Path key, long timeoutNanos) throws IOException, InterruptedException
+        {
+            long start = System.nanoTime();
+
+            if (timeoutNanos < 0) {
+                fileGuard.lock();
+            } else if (!fileGuard.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+
+            try {
+                long remaining = timeoutNanos < 0 ? -1 : Math.max(0, timeoutNanos - (System.nanoTime() - start));
+                if (sharedHolders == 0 && !lockFile(key, true, remaining)) return false;
+                sharedHolders++;
+                return true;
+            } finally {
+                fileGuard.unlock();
+            }
+        }
+
+        private void leaveShared()
+        {
+            fileGuard.lock();
+            try {
+                if (--sharedHolders == 0) unlockFile();
+            } finally {
+                fileGuard.unlock();
+            }
+        }
+
+        private boolean lockFile(@NotNull Path key, boolean shared, long timeoutNanos) throws IOException, InterruptedException
+        {
+            Path parent = key.getParent();
+            if (parent != null && Files.notExists(parent)) Files.createDirectories(parent);
+
+            Path sidecar = key.resolveSibling("." + key.getFileName() + ".lock");
+            FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            try {
+                FileLock fileLock;
+
+                if (timeoutNanos < 0) {
+                    fileLock = channel.lock(0, Long.MAX_VALUE, shared);
+                } else {
+                    long deadline = System.nanoTime() + timeoutNanos;
+
+                    while ((fileLock = channel.tryLock(0, Long.MAX_VALUE, shared)) == null) {
+                        long remaining = deadline - System.nanoTime();
+
+                        if (remaining <= 0) {
+                            channel.close();
+                            return false;
+                        }
+
+                        Thread.sleep(Math.min(RETRY_MILLIS, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+                    }
+                }
+
+                this.channel = channel;
+                this.fileLock = fileLock;
+                return true;
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        private void unlockFile()
+        {
+            try {
+                if (fileLock != null) fileLock.release();
+            } catch (IOException ignored) {
+            } finally {
+                try {
+                    if (channel != null) channel.close();
+                } catch (IOException ignored) {
+                }
+                fileLock = null;
+                channel = null;
+            }
         }
     }
 
@@ -73,14 +449,34 @@ public final class PathLocker
      */
     public static final class LockToken implements AutoCloseable
     {
-        private final @NotNull Path key;
-        private final @NotNull ReentrantLock lock;
+        private final @NotNull Entry entry;
+        private final boolean shared;
+        private final boolean ownsFileLock;
+        private final long waitNanos;
         private boolean closed = false;
 
-        private LockToken(@NotNull Path key, @NotNull ReentrantLock lock)
+        private LockToken(@NotNull Entry entry, boolean shared, boolean ownsFileLock, long waitNanos)
+        {
+            this.entry = entry;
+            this.shared = shared;
+            this.ownsFileLock = ownsFileLock;
+            this.waitNanos = waitNanos;
+        }
+
+        /**
+         * @return Whether this token holds the shared lock, false if it holds the exclusive lock.
+         */
+        public boolean isShared()
         {
-            this.key = key;
-            this.lock = lock;
+            return shared;
+        }
+
+        /**
+         * @return The time in nanoseconds the thread waited to acquire this lock.
+         */
+        public long waitNanos()
+        {
+            return waitNanos;
         }
 
         @Override
@@ -89,13 +485,74 @@ public final class PathLocker
             if (closed) return;
             closed = true;
             try {
-                lock.unlock();
-            } finally {
-                if (!lock.isLocked() && !lock.hasQueuedThreads()) {
-                    locks.remove(key, lock);
+                if (ownsFileLock) {
+                    if (shared) entry.leaveShared();
+                    else entry.unlockFile();
                 }
+            } finally {
+                if (shared) entry.lock.readLock().unlock();
+                else entry.lock.writeLock().unlock();
+                release(entry);
             }
         }
     }
-}
 
+    /**
+     * A snapshot of the time threads waited to acquire locks.
+     */
+    public static final class Statistics
+    {
+        private final long acquisitions;
+        private final long timeouts;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+
+        private Statistics(long acquisitions, long timeouts, long totalWaitNanos, long maxWaitNanos)
+        {
+            this.acquisitions = acquisitions;
+            this.timeouts = timeouts;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+        }
+
+        /**
+         * @return The amount of locks acquired.
+         */
+        public long acquisitions()
+        {
+            return acquisitions;
+        }
+
+        /**
+         * @return The amount of attempts that timed out before acquiring the lock.
+         */
+        public long timeouts()
+        {
+            return timeouts;
+        }
+
+        /**
+         * @return The sum of the time in nanoseconds threads waited to acquire locks.
+         */
+        public long totalWaitNanos()
+        {
+            return totalWaitNanos;
+        }
+
+        /**
+         * @return The longest time in nanoseconds a thread waited to acquire a lock.
+         */
+        public long maxWaitNanos()
+        {
+            return maxWaitNanos;
+        }
+
+        /**
+         * @return The average time in nanoseconds threads waited to acquire a lock.
+         */
+        public long averageWaitNanos()
+        {
+            return acquisitions == 0 ? 0 : totalWaitNanos / acquisitions;
+        }
+    }
+}
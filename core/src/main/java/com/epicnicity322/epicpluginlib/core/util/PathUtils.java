@@ -22,12 +22,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.LinkOption;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.*;
 import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -41,7 +41,8 @@ public final class PathUtils
     }
 
     /**
-     * Gets the contents in the file in the path as string.
+     * Gets the contents in the file in the path as string. The read holds the shared {@link PathLocker} lock of the
+     * destination.
      *
      * @param destination The file to get the contents.
      * @return The contents of the file or null if file does not exists or is a directory.
@@ -54,7 +55,8 @@ public final class PathUtils
 
         StringBuilder output = new StringBuilder();
 
-        try (Stream<String> lines = Files.lines(destination, StandardCharsets.UTF_8)) {
+        try (PathLocker.LockToken ignored = PathLocker.lockShared(destination);
+             Stream<String> lines = Files.lines(destination, StandardCharsets.UTF_8)) {
             lines.forEach(line -> output.append(lineSeparator).append(line));
         }
 
@@ -65,6 +67,8 @@ public final class PathUtils
     /**
      * Writes bytes into a file. Creates a new file and parent directories if doesn't exit, or append bytes if file
      * already exists.
+     * <p>
+     * The write holds the {@link PathLocker} lock of the destination.
      *
      * @param data        The bytes you want to write into the path.
      * @param destination The file you want to save the string.
@@ -76,16 +80,18 @@ public final class PathUtils
         if (Files.isDirectory(destination))
             throw new IllegalArgumentException("destination path is a directory.");
 
-        if (Files.notExists(destination)) {
-            Path parent = destination.getParent();
+        try (PathLocker.LockToken ignored = PathLocker.lockExclusive(destination)) {
+            if (Files.notExists(destination)) {
+                Path parent = destination.getParent();
 
-            if (Files.notExists(parent))
-                Files.createDirectories(parent);
+                if (Files.notExists(parent))
+                    Files.createDirectories(parent);
 
-            Files.createFile(destination);
-        }
+                Files.createFile(destination);
+            }
 
-        Files.write(destination, data, StandardOpenOption.APPEND);
+            Files.write(destination, data, StandardOpenOption.APPEND);
+        }
     }
 
     /**
@@ -102,6 +108,87 @@ public final class PathUtils
         write(data.getBytes(StandardCharsets.UTF_8), destination);
     }
 
+    /**
+     * Replaces the contents of a file with the specified bytes atomically. Creates a new file and parent directories if
+     * doesn't exist.
+     * <p>
+     * The bytes are first written to a temporary file in the same directory, which is then moved to the destination
+     * replacing the existing file. This way, a crash in the middle of the write never leaves the destination with
+     * partial contents. If the file system does not support atomic moves, the temporary file is moved normally.
+     * <p>
+     * The write holds the {@link PathLocker} lock of the destination.
+     *
+     * @param data        The bytes you want to write into the path.
+     * @param destination The file you want to replace the contents.
+     * @param sync        Whether the contents should be forced to the storage device before the move.
+     * @throws IOException              If write access was denied for this path.
+     * @throws IllegalArgumentException If destination path points to a directory.
+     */
+    public static void writeAtomically(byte[] data, @NotNull Path destination, boolean sync) throws IOException
+    {
+        if (Files.isDirectory(destination))
+            throw new IllegalArgumentException("destination path is a directory.");
+
+        Path parent = destination.toAbsolutePath().getParent();
+
+        if (Files.notExists(parent))
+            Files.createDirectories(parent);
+
+        try (PathLocker.LockToken ignored = PathLocker.lockExclusive(destination)) {
+            replace(data, destination, parent, sync);
+        }
+    }
+
+    private static void replace(byte[] data, @NotNull Path destination, @NotNull Path parent, boolean sync) throws IOException
+    {
+        String name = "." + destination.getFileName().toString() + ".";
+        Path temporary;
+        FileChannel channel;
+
+        // Creating a temporary file that is guaranteed to not be in use by another writer.
+        while (true) {
+            temporary = parent.resolve(name + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                channel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                break;
+            } catch (FileAlreadyExistsException ignored) {
+            }
+        }
+
+        try {
+            try (FileChannel ignored = channel) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                if (sync) channel.force(true);
+            }
+
+            try {
+                Files.move(temporary, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, destination, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the contents of a file with the specified string atomically. Creates a new file and parent directories
+     * if doesn't exist.
+     *
+     * @param data        The string you want to write into the path.
+     * @param destination The file you want to replace the contents.
+     * @param sync        Whether the contents should be forced to the storage device before the move.
+     * @throws IOException              If write access was denied for this path.
+     * @throws IllegalArgumentException If destination path points to a directory.
+     * @see #writeAtomically(byte[], Path, boolean)
+     */
+    public static void writeAtomically(@NotNull String data, @NotNull Path destination, boolean sync) throws IOException
+    {
+        writeAtomically(data.getBytes(StandardCharsets.UTF_8), destination, sync);
+    }
+
     /**
      * Deletes the file in the path. If the path points to a directory, all files inside this directory are deleted.
      *
@@ -0,0 +1,323 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A text compiled into literal segments and placeholder slots, so placeholders can be replaced in a single pass.
+ * <p>
+ * Placeholders are names enclosed in angle brackets, such as {@code <player>} or {@code <var0>}. Names may have
+ * letters, digits, '_', '-' and '.'. Placeholders with no value given when rendering are kept as they are in the text.
+ * <p>
+ * Templates are immutable and can be shared between threads. Rendering uses a builder reused by each thread, so only
+ * the resulting string is allocated.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * PlaceholderTemplate template = PlaceholderTemplate.compile("<player> joined <world>!");
+ * template.render("player", player.getName(), "world", world.getName());
+ * }</pre>
+ */
+public final class PlaceholderTemplate
+{
+    private static final @NotNull String[] noSlots = new String[0];
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+    // Holds only JDK types, so the values left in the threads of the server don't keep the plugin's class loader alive
+    // after a reload. The element is null while the builder is in use.
+    private static final @NotNull ThreadLocal<StringBuilder[]> buffers = new ThreadLocal<>();
+    private final @NotNull String text;
+    private final @NotNull String[] literals;
+    private final @NotNull String[] slots;
+    // The name of the slots without the trailing digits, and the number of the trailing digits, or -1.
+    private final @NotNull String[] stems;
+    private final int @NotNull [] indexes;
+    private final int expectedLength;
+
+    private PlaceholderTemplate(@NotNull String text, @NotNull String[] literals, @NotNull String[] slots)
+    {
+        this.text = text;
+        this.literals = literals;
+        this.slots = slots;
+        this.stems = new String[slots.length];
+        this.indexes = new int[slots.length];
+
+        for (int i = 0; i < slots.length; i++) {
+            String slot = slots[i];
+            int digits = slot.length();
+            while (digits > 0 && Character.isDigit(slot.charAt(digits - 1))) digits--;
+
+            int index = -1;
+            if (digits < slot.length()) {
+                try {
+                    index = Integer.parseInt(slot.substring(digits));
+                } catch (NumberFormatException ignored) {
+                    // Too many digits.
+                }
+            }
+
+            stems[i] = slot.substring(0, digits);
+            indexes[i] = index;
+        }
+
+        int expectedLength = 16 * slots.length;
+        for (String literal : literals) expectedLength += literal.length();
+        this.expectedLength = expectedLength;
+    }
+
+    /**
+     * Splits the text into literal segments and placeholder slots.
+     *
+     * @param text The text with placeholders.
+     * @return The compiled template.
+     */
+    public static @NotNull PlaceholderTemplate compile(@NotNull String text)
+    {
+        ArrayList<String> literals = null;
+        ArrayList<String> slots = null;
+        int length = text.length();
+        int literalStart = 0;
+        int open = text.indexOf('<');
+
+        while (open != -1) {
+            int close = open + 1;
+            while (close < length && isNameChar(text.charAt(close))) close++;
+
+            if (close < length && close > open + 1 && text.charAt(close) == '>') {
+                if (literals == null) {
+                    literals = new ArrayList<>();
+                    slots = new ArrayList<>();
+                }
+
+                literals.add(text.substring(literalStart, open));
+                slots.add(text.substring(open + 1, close));
+                literalStart = close + 1;
+                open = text.indexOf('<', literalStart);
+            } else {
+                open = text.indexOf('<', open + 1);
+            }
+        }
+
+        if (literals == null) return new PlaceholderTemplate(text, new String[]{text}, noSlots);
+
+        literals.add(text.substring(literalStart));
+        return new PlaceholderTemplate(text, literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    /**
+     * Creates a template of a text without scanning it for placeholders, so the text is always rendered as it is.
+     *
+     * @param text The text to render.
+     * @return The template with no placeholders.
+     */
+    public static @NotNull PlaceholderTemplate literal(@NotNull String text)
+    {
+        return new PlaceholderTemplate(text, new String[]{text}, noSlots);
+    }
+
+    private static boolean isNameChar(char c)
+    {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+    }
+
+    /**
+     * @return The text this template was compiled from.
+     */
+    public @NotNull String text()
+    {
+        return text;
+    }
+
+    /**
+     * @return Whether the text has any placeholder.
+     */
+    public boolean hasPlaceholders()
+    {
+        return slots.length != 0;
+    }
+
+    /**
+     * @return The names of the placeholders, in the order they appear in the text.
+     */
+    public @NotNull List<String> placeholders()
+    {
+        return Collections.unmodifiableList(Arrays.asList(slots));
+    }
+
+    /**
+     * Renders the text replacing the placeholders by name.
+     *
+     * @param namesAndValues Alternating placeholder names and values. E.g. {@code "player", player.getName()}.
+     * @return The rendered text.
+     */
+    public @NotNull String render(@Nullable Object @NotNull ... namesAndValues)
+    {
+        return renderAfter(null, namesAndValues);
+    }
+
+    /**
+     * Renders the text replacing the placeholders by name, after the head text.
+     *
+     * @param head           The text to add to the start of the rendered text, null for none.
+     * @param namesAndValues Alternating placeholder names and values. E.g. {@code "player", player.getName()}.
+     * @return The head followed by the rendered text.
+     */
+    public @NotNull String renderAfter(@Nullable String head, @Nullable Object @NotNull ... namesAndValues)
+    {
+        if (slots.length == 0 || namesAndValues.length < 2) return head == null ? text : head.concat(text);
+
+        StringBuilder builder = acquire(head, expectedLength);
+
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                builder.append(literals[i]);
+                String slot = slots[i];
+                Object value = null;
+                boolean found = false;
+
+                for (int j = 0; j + 1 < namesAndValues.length; j += 2) {
+                    if (slot.equals(namesAndValues[j])) {
+                        value = namesAndValues[j + 1];
+                        found = true;
+                        break;
+                    }
+                }
+
+                appendValue(builder, i, found, value);
+            }
+
+            return builder.append(literals[slots.length]).toString();
+        } finally {
+            release(builder);
+        }
+    }
+
+    /**
+     * Renders the text replacing the placeholders by name, using the values in the map.
+     *
+     * @param values The values of the placeholders, keyed by their names.
+     * @return The rendered text.
+     */
+    public @NotNull String render(@NotNull Map<String, ?> values)
+    {
+        if (slots.length == 0 || values.isEmpty()) return text;
+
+        StringBuilder builder = acquire(null, expectedLength);
+
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                builder.append(literals[i]);
+                Object value = values.get(slots[i]);
+                appendValue(builder, i, value != null || values.containsKey(slots[i]), value);
+            }
+
+            return builder.append(literals[slots.length]).toString();
+        } finally {
+            release(builder);
+        }
+    }
+
+    /**
+     * Renders the text replacing numbered placeholders by index. Placeholders named with the stem followed by a
+     * number are replaced by the value in that index, so with the stem "var", {@code <var0>} is replaced by the first
+     * value, {@code <var1>} by the second, and so on. Null values are not replaced.
+     *
+     * @param stem   The name of the placeholders without the number.
+     * @param values The values of the placeholders, in the order of their numbers.
+     * @return The rendered text.
+     */
+    public @NotNull String renderIndexed(@NotNull String stem, @Nullable Object @Nullable ... values)
+    {
+        if (slots.length == 0 || values == null || values.length == 0) return text;
+
+        StringBuilder builder = acquire(null, expectedLength);
+
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                builder.append(literals[i]);
+                int index = indexes[i];
+                Object value = index >= 0 && index < values.length && stems[i].equals(stem) ? values[index] : null;
+                appendValue(builder, i, value != null, value);
+            }
+
+            return builder.append(literals[slots.length]).toString();
+        } finally {
+            release(builder);
+        }
+    }
+
+    private void appendValue(@NotNull StringBuilder builder, int slot, boolean found, @Nullable Object value)
+    {
+        if (found) {
+            builder.append(value);
+        } else {
+            builder.append('<').append(slots[slot]).append('>');
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return text;
+    }
+
+    private static @NotNull StringBuilder acquire(@Nullable String head, int expectedLength)
+    {
+        int capacity = (head == null ? 0 : head.length()) + expectedLength;
+        StringBuilder[] buffer = buffers.get();
+        StringBuilder builder;
+
+        if (buffer == null) {
+            buffer = new StringBuilder[]{new StringBuilder(256)};
+            buffers.set(buffer);
+        }
+
+        // Values might render other templates in their toString, so nested renders get their own builder.
+        if (buffer[0] == null) {
+            builder = new StringBuilder(capacity);
+        } else {
+            builder = buffer[0];
+            builder.ensureCapacity(capacity);
+            buffer[0] = null;
+        }
+
+        if (head != null) builder.append(head);
+        return builder;
+    }
+
+    private static void release(@NotNull StringBuilder builder)
+    {
+        StringBuilder[] buffer = buffers.get();
+        if (buffer == null || buffer[0] != null) return;
+
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer[0] = new StringBuilder(256);
+        } else {
+            builder.setLength(0);
+            buffer[0] = builder;
+        }
+    }
+}
\ No newline at end of file
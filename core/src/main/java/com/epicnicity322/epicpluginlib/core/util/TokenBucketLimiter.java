@@ -0,0 +1,266 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe token bucket rate limiter, keyed by an owner, such as the UUID of a player, and a category, such as a
+ * kind of message.
+ * <p>
+ * Each bucket holds up to the capacity of tokens, and gets a token back every refill interval. Acquiring takes a
+ * token, so bursts up to the capacity are allowed, and afterward one acquisition per interval. The state of a bucket
+ * is a single primitive updated with compare-and-set, so acquiring never blocks.
+ * <p>
+ * Buckets are kept until they are removed by {@link #reset(UUID)} or {@link #purge()}, so call either of them
+ * periodically or when owners leave.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * // Bursts of 5, then one every second.
+ * TokenBucketLimiter limiter = new TokenBucketLimiter(5, 1000);
+ *
+ * if (limiter.tryAcquire(player.getUniqueId(), "region")) {
+ *     notifyRegion(player);
+ * }
+ * }</pre>
+ */
+public final class TokenBucketLimiter
+{
+    // The state of a bucket is the time of the last refill in the upper bits, and the signed tokens in the lower bits.
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final int MAX_CAPACITY = (1 << (TOKEN_BITS - 1)) - 1;
+    // The state of buckets removed by purge, so tokens are not taken from them after they are out of the map.
+    private static final long DEAD = -1;
+    private final @NotNull ConcurrentHashMap<UUID, ConcurrentHashMap<String, AtomicLong>> buckets = new ConcurrentHashMap<>();
+    private final long epoch = System.nanoTime();
+    private final int capacity;
+    private final long refillMillis;
+
+    /**
+     * Creates a limiter where every bucket starts full.
+     *
+     * @param capacity     The maximum amount of tokens of a bucket, the size of the bursts allowed.
+     * @param refillMillis The time in milliseconds for a bucket to get a token back.
+     * @throws IllegalArgumentException If the capacity is not between 1 and 8388607, or the refill time is not positive.
+     */
+    public TokenBucketLimiter(int capacity, long refillMillis)
+    {
+        if (capacity < 1 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ".");
+        if (refillMillis < 1) throw new IllegalArgumentException("Refill time must be positive.");
+
+        this.capacity = capacity;
+        this.refillMillis = refillMillis;
+    }
+
+    private static long pack(long time, long tokens)
+    {
+        return (time << TOKEN_BITS) | (tokens & TOKEN_MASK);
+    }
+
+    private static long time(long state)
+    {
+        return state >>> TOKEN_BITS;
+    }
+
+    private static int tokens(long state)
+    {
+        // Sign extended, reserved tokens are negative.
+        return (int) (state << (64 - TOKEN_BITS) >> (64 - TOKEN_BITS));
+    }
+
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    public long refillMillis()
+    {
+        return refillMillis;
+    }
+
+    /**
+     * Takes a token of the bucket of this owner and category, if it has any.
+     *
+     * @param owner    The owner of the bucket.
+     * @param category The category of the bucket.
+     * @return Whether a token was taken, false if the owner is rate limited in this category.
+     */
+    public boolean tryAcquire(@NotNull UUID owner, @NotNull String category)
+    {
+        AtomicLong bucket = bucket(owner, category);
+        long now = now();
+
+        while (true) {
+            long state = bucket.get();
+
+            if (state == DEAD) {
+                // Purged while this thread was getting it, a new full bucket is created.
+                bucket = bucket(owner, category);
+                continue;
+            }
+
+            long refilled = refill(state, now);
+            int tokens = tokens(refilled);
+
+            if (tokens <= 0) {
+                if (refilled != state) bucket.compareAndSet(state, refilled);
+                return false;
+            }
+
+            if (bucket.compareAndSet(state, taken(refilled, tokens, now))) return true;
+        }
+    }
+
+    /**
+     * Takes a token of the bucket of this owner and category, even if it has none, so the token is used once it's
+     * refilled. A bucket can't have more tokens reserved than its capacity.
+     *
+     * @param owner    The owner of the bucket.
+     * @param category The category of the bucket.
+     * @return The time in milliseconds to wait before using the token, 0 if it can be used now, or -1 if no token was
+     * taken because the bucket has too many reserved tokens.
+     */
+    public long reserve(@NotNull UUID owner, @NotNull String category)
+    {
+        AtomicLong bucket = bucket(owner, category);
+        long now = now();
+
+        while (true) {
+            long state = bucket.get();
+
+            if (state == DEAD) {
+                bucket = bucket(owner, category);
+                continue;
+            }
+
+            long refilled = refill(state, now);
+            int tokens = tokens(refilled);
+
+            if (tokens <= -capacity) return -1;
+
+            if (bucket.compareAndSet(state, taken(refilled, tokens, now))) {
+                return tokens > 0 ? 0 : (1 - tokens) * refillMillis - (now - time(refilled));
+            }
+        }
+    }
+
+    /**
+     * @param owner    The owner of the bucket.
+     * @param category The category of the bucket.
+     * @return The time in milliseconds until the bucket of this owner and category has a token, 0 if it has one now.
+     */
+    public long millisUntilAvailable(@NotNull UUID owner, @NotNull String category)
+    {
+        ConcurrentHashMap<String, AtomicLong> categories = buckets.get(owner);
+        if (categories == null) return 0;
+        AtomicLong bucket = categories.get(category);
+        if (bucket == null) return 0;
+
+        long now = now();
+        long state = bucket.get();
+        if (state == DEAD) return 0;
+        long refilled = refill(state, now);
+        int tokens = tokens(refilled);
+
+        return tokens > 0 ? 0 : (1 - tokens) * refillMillis - (now - time(refilled));
+    }
+
+    /**
+     * Refills every bucket of the owner. Use this when the owner leaves, for example.
+     *
+     * @param owner The owner of the buckets.
+     */
+    public void reset(@NotNull UUID owner)
+    {
+        buckets.remove(owner);
+    }
+
+    /**
+     * Removes the buckets that are full, since a new bucket starts full anyway.
+     */
+    public void purge()
+    {
+        long now = now();
+
+        for (UUID owner : buckets.keySet()) {
+            // Checked and removed atomically, so buckets added or taken from in the meantime are not removed.
+            buckets.computeIfPresent(owner, (k, categories) -> {
+                for (String category : categories.keySet()) {
+                    categories.computeIfPresent(category, (c, bucket) -> {
+                        long state = bucket.get();
+                        return tokens(refill(state, now)) >= capacity && bucket.compareAndSet(state, DEAD) ? null : bucket;
+                    });
+                }
+
+                return categories.isEmpty() ? null : categories;
+            });
+        }
+    }
+
+    /**
+     * @return The amount of buckets kept by this limiter.
+     */
+    public int size()
+    {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> categories : buckets.values()) size += categories.size();
+        return size;
+    }
+
+    private @NotNull AtomicLong bucket(@NotNull UUID owner, @NotNull String category)
+    {
+        while (true) {
+            ConcurrentHashMap<String, AtomicLong> categories = buckets.computeIfAbsent(owner, k -> new ConcurrentHashMap<>(4));
+            AtomicLong bucket = categories.computeIfAbsent(category, k -> new AtomicLong(pack(now(), capacity)));
+            // The map was removed for being empty before the bucket was added to it.
+            if (buckets.get(owner) == categories) return bucket;
+        }
+    }
+
+    private long now()
+    {
+        return (System.nanoTime() - epoch) / 1_000_000;
+    }
+
+    private long taken(long refilled, int tokens, long now)
+    {
+        // Full buckets don't refill, so the refill of the taken token starts now.
+        return pack(tokens >= capacity ? now : time(refilled), tokens - 1);
+    }
+
+    private long refill(long state, long now)
+    {
+        long time = time(state);
+        long elapsed = now - time;
+        if (elapsed < refillMillis) return state;
+
+        long tokens = tokens(state) + elapsed / refillMillis;
+        if (tokens >= capacity) return pack(now, capacity);
+
+        // Only the time of the whole tokens refilled is consumed, so partial refills are not lost.
+        return pack(time + (elapsed / refillMillis) * refillMillis, tokens);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.util;
+
+import com.epicnicity322.epicpluginlib.core.scheduler.Scheduled;
+import com.epicnicity322.epicpluginlib.core.scheduler.TaskFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A writer that delays writes to files and flushes them in a repeating asynchronous task.
+ * <p>
+ * Repeated writes to the same path before a flush are coalesced, so only the latest data is written. Every flush
+ * replaces the contents of the files atomically using {@link PathUtils#writeAtomically(byte[], Path, boolean)}, while
+ * holding the {@link PathLocker} lock of the path.
+ * <p>
+ * Remember to {@link #close()} the writer when your plugin disables, so pending writes are flushed.
+ */
+public final class WriteBehindWriter implements AutoCloseable
+{
+    private final @NotNull ConcurrentHashMap<Path, byte[]> pending = new ConcurrentHashMap<>();
+    private final boolean sync;
+    private final @Nullable BiConsumer<Path, IOException> onError;
+    private final @NotNull Scheduled task;
+
+    /**
+     * Creates a writer that flushes pending writes in the specified interval.
+     *
+     * @param async         The task factory used to schedule the flushes.
+     * @param intervalTicks The interval in ticks between flushes.
+     * @param sync          Whether the contents should be forced to the storage device on every write.
+     * @param onError       A consumer accepting the exceptions thrown while writing a path. The path is kept pending and
+     *                      the write is attempted again on the next flush.
+     */
+    public WriteBehindWriter(@NotNull TaskFactory.Async async, long intervalTicks, boolean sync, @Nullable BiConsumer<Path, IOException> onError)
+    {
+        this.sync = sync;
+        this.onError = onError;
+        this.task = async.repeating(intervalTicks, intervalTicks, scheduled -> flush());
+    }
+
+    /**
+     * Schedules the contents of the file to be replaced with the specified bytes on the next flush. If there is already
+     * a pending write for this path, it's replaced.
+     *
+     * @param data        The bytes you want to write into the path.
+     * @param destination The file you want to replace the contents.
+     */
+    public void write(byte @NotNull [] data, @NotNull Path destination)
+    {
+        pending.put(destination.toAbsolutePath().normalize(), data);
+    }
+
+    /**
+     * Schedules the contents of the file to be replaced with the specified string on the next flush. If there is
+     * already a pending write for this path, it's replaced.
+     *
+     * @param data        The string you want to write into the path.
+     * @param destination The file you want to replace the contents.
+     */
+    public void write(@NotNull String data, @NotNull Path destination)
+    {
+        write(data.getBytes(StandardCharsets.UTF_8), destination);
+    }
+
+    /**
+     * @return The amount of paths waiting to be written.
+     */
+    public int pendingCount()
+    {
+        return pending.size();
+    }
+
+    /**
+     * Writes every pending path now, in the calling thread.
+     */
+    public synchronized void flush()
+    {
+        for (Map.Entry<Path, byte[]> entry : pending.entrySet()) {
+            Path path = entry.getKey();
+            byte[] data = entry.getValue();
+
+            // Skipping if the data was replaced in the meantime, it will be written on the next iteration or flush.
+            if (!pending.remove(path, data)) continue;
+
+            try {
+                PathUtils.writeAtomically(data, path, sync);
+            } catch (IOException e) {
+                // Keeping the data to attempt again, unless a newer write was already scheduled.
+                pending.putIfAbsent(path, data);
+                if (onError != null) onError.accept(path, e);
+            }
+        }
+    }
+
+    /**
+     * Stops the repeating flush task and writes every pending path in the calling thread.
+     */
+    @Override
+    public void close()
+    {
+        task.cancel();
+        flush();
+    }
+}
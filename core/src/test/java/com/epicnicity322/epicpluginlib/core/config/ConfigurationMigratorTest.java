@@ -0,0 +1,118 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import com.epicnicity322.yamlhandler.Configuration;
+import com.epicnicity322.yamlhandler.loaders.YamlConfigurationLoader;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigurationMigratorTest
+{
+    private final YamlConfigurationLoader loader = new YamlConfigurationLoader();
+
+    private Configuration defaults()
+    {
+        Configuration defaults = new Configuration(loader);
+        defaults.set("Version", "2.0");
+        defaults.set("Log", "");
+        defaults.set("Settings.Enabled", true);
+        defaults.set("Settings.Worlds", new ArrayList<>(Arrays.asList("world", "world_nether")));
+        return defaults;
+    }
+
+    private static ConfigurationMigrator appending()
+    {
+        // Each transform appends its version to the log, so the order they were applied in can be checked.
+        return new ConfigurationMigrator()
+                .transform(new ComparableVersion("2.0"), config -> config.set("Log", config.getString("Log").orElse("") + "2.0;"))
+                .transform(new ComparableVersion("1.1"), config -> config.set("Log", config.getString("Log").orElse("") + "1.1;"))
+                .transform(new ComparableVersion("1.2"), config -> config.set("Log", config.getString("Log").orElse("") + "1.2;"));
+    }
+
+    @Test
+    void appliesTransformsAboveTheVersionInAscendingOrder()
+    {
+        Configuration configuration = new Configuration(loader);
+        configuration.set("Version", "1.1");
+
+        appending().migrate(configuration, new ComparableVersion("1.1"), defaults());
+
+        assertEquals("1.2;2.0;", configuration.getString("Log").orElse(null));
+    }
+
+    @Test
+    void appliesEveryTransformToConfigurationsWithoutVersion()
+    {
+        Configuration configuration = new Configuration(loader);
+
+        appending().migrate(configuration, null, defaults());
+
+        assertEquals("1.1;1.2;2.0;", configuration.getString("Log").orElse(null));
+    }
+
+    @Test
+    void transformsOfTheSameVersionAreAppliedInRegistrationOrder()
+    {
+        Configuration configuration = new Configuration(loader);
+        ConfigurationMigrator migrator = new ConfigurationMigrator()
+                .transform(new ComparableVersion("2.0"), config -> config.set("Log", "first;"))
+                .transform(new ComparableVersion("2.0"), config -> config.set("Log", config.getString("Log").orElse("") + "second;"));
+
+        migrator.migrate(configuration, new ComparableVersion("1.0"), defaults());
+
+        assertEquals("first;second;", configuration.getString("Log").orElse(null));
+    }
+
+    @Test
+    void keepsUserValuesAndAddsMissingDefaults()
+    {
+        Configuration configuration = new Configuration(loader);
+        configuration.set("Version", "1.0");
+        configuration.set("Settings.Enabled", false);
+        configuration.set("Custom", "kept");
+
+        new ConfigurationMigrator().migrate(configuration, new ComparableVersion("1.0"), defaults());
+
+        assertEquals(false, configuration.getObject("Settings.Enabled").orElse(null));
+        assertEquals("kept", configuration.getString("Custom").orElse(null));
+        assertEquals(Arrays.asList("world", "world_nether"), configuration.getObject("Settings.Worlds").orElse(null));
+        assertEquals("2.0", configuration.getString("Version").orElse(null));
+    }
+
+    @Test
+    void copiesListsOfTheDefaults()
+    {
+        Configuration defaults = defaults();
+        Configuration configuration = new Configuration(loader);
+
+        new ConfigurationMigrator().migrate(configuration, null, defaults);
+        @SuppressWarnings("unchecked")
+        List<Object> worlds = (List<Object>) configuration.getObject("Settings.Worlds").orElseThrow(AssertionError::new);
+        worlds.add("world_the_end");
+
+        assertEquals(Arrays.asList("world", "world_nether"), defaults.getObject("Settings.Worlds").orElse(null));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileFingerprintTest
+{
+    @TempDir
+    Path directory;
+
+    private Path write(String name, String contents, long lastModified) throws IOException
+    {
+        Path file = directory.resolve(name);
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+        return file;
+    }
+
+    private static BasicFileAttributes attributes(Path file) throws IOException
+    {
+        return Files.readAttributes(file, BasicFileAttributes.class);
+    }
+
+    @Test
+    void ofReturnsNullForMissingFilesAndDirectories() throws IOException
+    {
+        assertNull(FileFingerprint.of(directory.resolve("missing.yml")));
+        assertNull(FileFingerprint.of(directory));
+    }
+
+    @Test
+    void matchesUnchangedFile() throws IOException
+    {
+        Path file = write("config.yml", "Version: '1.0'", System.currentTimeMillis() - 60000);
+        FileFingerprint fingerprint = FileFingerprint.of(file);
+
+        assertNotNull(fingerprint);
+        assertTrue(fingerprint.matches(attributes(file)));
+    }
+
+    @Test
+    void doesNotMatchChangedAttributes() throws IOException
+    {
+        long lastModified = System.currentTimeMillis() - 60000;
+        Path file = write("config.yml", "Version: '1.0'", lastModified);
+        FileFingerprint fingerprint = FileFingerprint.of(file);
+
+        assertNotNull(fingerprint);
+        write("config.yml", "Version: '1.0.1'", lastModified);
+        assertFalse(fingerprint.matches(attributes(file)));
+
+        write("config.yml", "Version: '1.0'", lastModified + 5000);
+        assertFalse(fingerprint.matches(attributes(file)));
+    }
+
+    @Test
+    void doesNotMatchFilesModifiedWithinTheGranularity() throws IOException
+    {
+        // The file could be modified again in the same step of the last modified time without changing it.
+        Path file = write("config.yml", "Version: '1.0'", System.currentTimeMillis());
+        FileFingerprint fingerprint = FileFingerprint.of(file);
+
+        assertNotNull(fingerprint);
+        assertFalse(fingerprint.matches(attributes(file)));
+    }
+
+    @Test
+    void sameContentsIgnoresLastModifiedTime() throws IOException
+    {
+        long lastModified = System.currentTimeMillis() - 60000;
+        FileFingerprint first = FileFingerprint.of(write("first.yml", "Key: value", lastModified));
+        FileFingerprint touched = FileFingerprint.of(write("touched.yml", "Key: value", lastModified + 5000));
+        FileFingerprint other = FileFingerprint.of(write("other.yml", "Key: other", lastModified));
+
+        assertNotNull(first);
+        assertTrue(first.sameContents(touched));
+        assertNotEquals(first, touched);
+        assertFalse(first.sameContents(other));
+        assertFalse(first.sameContents(null));
+    }
+
+    @Test
+    void equalityIgnoresWhenTheFingerprintWasTaken() throws IOException
+    {
+        Path file = write("config.yml", "Key: value", System.currentTimeMillis() - 60000);
+        FileFingerprint first = FileFingerprint.of(file);
+        FileFingerprint second = FileFingerprint.of(file);
+
+        assertNotNull(first);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+}
\ No newline at end of file
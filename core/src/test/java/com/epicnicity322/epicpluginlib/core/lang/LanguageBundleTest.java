@@ -0,0 +1,182 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.lang;
+
+import com.epicnicity322.epicpluginlib.core.config.FileFingerprint;
+import com.epicnicity322.yamlhandler.Configuration;
+import com.epicnicity322.yamlhandler.loaders.YamlConfigurationLoader;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LanguageBundleTest
+{
+    private static final long DEFAULTS_HASH = LanguageBundle.defaultsHash("General:\n  Prefix: ''", new ComparableVersion("1.0"), null);
+    @TempDir
+    Path directory;
+
+    private Path languageFile(String contents) throws IOException
+    {
+        Path file = directory.resolve("EN_US.yml");
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 60000));
+        return file;
+    }
+
+    private static Configuration language()
+    {
+        Configuration language = new Configuration(new YamlConfigurationLoader());
+        language.set("General.Prefix", "&8[&aPlugin&8] ");
+        language.set("Join.Message", "<player> joined, olá!");
+        language.set("Quit.Message", "<player> joined, olá!");
+        return language;
+    }
+
+    private static Path compile(Path file) throws IOException
+    {
+        FileFingerprint fingerprint = FileFingerprint.of(file);
+        assertNotNull(fingerprint);
+        LanguageBundle.compile(language(), fingerprint, DEFAULTS_HASH).write(file);
+        return LanguageBundle.bundlePath(file);
+    }
+
+    @Test
+    void roundTrip() throws IOException
+    {
+        Path file = languageFile("contents");
+        Path bundleFile = compile(file);
+
+        assertEquals(directory.resolve(".EN_US.yml.bundle"), bundleFile);
+        assertTrue(Files.isRegularFile(bundleFile));
+
+        LanguageBundle bundle = LanguageBundle.read(file, DEFAULTS_HASH);
+        Map<String, String> expected = new HashMap<>();
+        expected.put("General.Prefix", "&8[&aPlugin&8] ");
+        expected.put("Join.Message", "<player> joined, olá!");
+        expected.put("Quit.Message", "<player> joined, olá!");
+
+        assertNotNull(bundle);
+        assertEquals(expected, bundle.messages());
+        assertEquals("<player> joined, olá!", bundle.get("Join.Message"));
+        assertNull(bundle.get("Missing"));
+    }
+
+    @Test
+    void readsNothingWithoutBundle() throws IOException
+    {
+        Path file = languageFile("contents");
+
+        assertNull(LanguageBundle.read(file, DEFAULTS_HASH));
+        assertNull(LanguageBundle.read(directory.resolve("missing.yml"), DEFAULTS_HASH));
+    }
+
+    @Test
+    void rejectsBundlesOfChangedFiles() throws IOException
+    {
+        Path file = languageFile("contents");
+        compile(file);
+
+        languageFile("changed contents");
+        assertNull(LanguageBundle.read(file, DEFAULTS_HASH));
+
+        // Same size, different contents.
+        languageFile("CONTENTS");
+        assertNull(LanguageBundle.read(file, DEFAULTS_HASH));
+    }
+
+    @Test
+    void readsBundlesOfTouchedFiles() throws IOException
+    {
+        Path file = languageFile("contents");
+        compile(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 30000));
+
+        assertNotNull(LanguageBundle.read(file, DEFAULTS_HASH));
+    }
+
+    @Test
+    void rejectsBundlesOfOtherDefaultsOrVersions() throws IOException
+    {
+        Path file = languageFile("contents");
+        compile(file);
+
+        long otherDefaults = LanguageBundle.defaultsHash("General:\n  Prefix: '[New]'", new ComparableVersion("1.0"), null);
+        long otherVersion = LanguageBundle.defaultsHash("General:\n  Prefix: ''", new ComparableVersion("1.1"), null);
+
+        assertNotEquals(DEFAULTS_HASH, otherDefaults);
+        assertNotEquals(DEFAULTS_HASH, otherVersion);
+        assertNull(LanguageBundle.read(file, otherDefaults));
+        assertNull(LanguageBundle.read(file, otherVersion));
+        assertNotNull(LanguageBundle.read(file, DEFAULTS_HASH));
+    }
+
+    @Test
+    void rejectsTruncatedBundles() throws IOException
+    {
+        Path file = languageFile("contents");
+        Path bundleFile = compile(file);
+        byte[] data = Files.readAllBytes(bundleFile);
+
+        for (int length : new int[]{0, 4, 12, 40, data.length / 2, data.length - 1}) {
+            Files.write(bundleFile, Arrays.copyOf(data, length));
+            assertNull(LanguageBundle.read(file, DEFAULTS_HASH), "Truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void rejectsCorruptedBundles() throws IOException
+    {
+        Path file = languageFile("contents");
+        Path bundleFile = compile(file);
+        byte[] data = Files.readAllBytes(bundleFile);
+
+        byte[] wrongMagic = data.clone();
+        wrongMagic[0] ^= 1;
+        Files.write(bundleFile, wrongMagic);
+        assertNull(LanguageBundle.read(file, DEFAULTS_HASH));
+
+        byte[] wrongVersion = data.clone();
+        wrongVersion[7] ^= 1;
+        Files.write(bundleFile, wrongVersion);
+        assertNull(LanguageBundle.read(file, DEFAULTS_HASH));
+
+        // The count of strings is right after the header of magic, version, defaults hash and fingerprint.
+        byte[] hugeCount = data.clone();
+        ByteBuffer.wrap(hugeCount).putInt(40, Integer.MAX_VALUE);
+        Files.write(bundleFile, hugeCount);
+        assertNull(LanguageBundle.read(file, DEFAULTS_HASH));
+
+        byte[] negativeLength = data.clone();
+        ByteBuffer.wrap(negativeLength).putInt(44, -5);
+        Files.write(bundleFile, negativeLength);
+        assertNull(LanguageBundle.read(file, DEFAULTS_HASH));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CooldownStoreTest
+{
+    private final UUID owner = UUID.randomUUID();
+
+    @Test
+    void acquiresOncePerCooldown()
+    {
+        CooldownStore cooldowns = new CooldownStore();
+
+        assertTrue(cooldowns.tryAcquire(owner, "teleport", 60000));
+        assertFalse(cooldowns.tryAcquire(owner, "teleport", 60000));
+        assertTrue(cooldowns.isOnCooldown(owner, "teleport"));
+
+        long remaining = cooldowns.remainingMillis(owner, "teleport");
+        assertTrue(remaining > 0 && remaining <= 60001, "Remaining time out of range: " + remaining);
+    }
+
+    @Test
+    void keysAndOwnersHaveSeparateCooldowns()
+    {
+        CooldownStore cooldowns = new CooldownStore();
+
+        assertTrue(cooldowns.tryAcquire(owner, "teleport", 60000));
+        assertTrue(cooldowns.tryAcquire(owner, "heal", 60000));
+        assertTrue(cooldowns.tryAcquire(UUID.randomUUID(), "teleport", 60000));
+        assertFalse(cooldowns.isOnCooldown(owner, "fly"));
+        assertEquals(0, cooldowns.remainingMillis(UUID.randomUUID(), "teleport"));
+    }
+
+    @Test
+    void acquiresAgainOnceTheCooldownEnds() throws InterruptedException
+    {
+        CooldownStore cooldowns = new CooldownStore();
+
+        assertTrue(cooldowns.tryAcquire(owner, "teleport", 20));
+        Thread.sleep(40);
+
+        assertFalse(cooldowns.isOnCooldown(owner, "teleport"));
+        assertTrue(cooldowns.tryAcquire(owner, "teleport", 20));
+    }
+
+    @Test
+    void resetEndsCooldowns()
+    {
+        CooldownStore cooldowns = new CooldownStore();
+
+        cooldowns.tryAcquire(owner, "teleport", 60000);
+        cooldowns.tryAcquire(owner, "heal", 60000);
+        cooldowns.reset(owner, "teleport");
+
+        assertFalse(cooldowns.isOnCooldown(owner, "teleport"));
+        assertTrue(cooldowns.isOnCooldown(owner, "heal"));
+        assertTrue(cooldowns.tryAcquire(owner, "teleport", 60000));
+
+        cooldowns.reset(owner);
+
+        assertFalse(cooldowns.isOnCooldown(owner, "teleport"));
+        assertFalse(cooldowns.isOnCooldown(owner, "heal"));
+    }
+
+    @Test
+    void purgeRemovesExpiredCooldowns() throws InterruptedException
+    {
+        CooldownStore cooldowns = new CooldownStore();
+
+        cooldowns.tryAcquire(owner, "expired", 1);
+        cooldowns.tryAcquire(owner, "active", 60000);
+        Thread.sleep(10);
+        cooldowns.purge();
+
+        assertEquals(1, cooldowns.size());
+        assertTrue(cooldowns.isOnCooldown(owner, "active"));
+    }
+
+    @Test
+    void expiredCooldownsAreRemovedWithinATickOfEnding() throws InterruptedException
+    {
+        CooldownStore cooldowns = new CooldownStore();
+        long until = System.currentTimeMillis() + 10;
+
+        cooldowns.tryAcquire(owner, "teleport", 10);
+        assertEquals(1, cooldowns.size());
+
+        // The wheel removes it once the tick it ended in has fully elapsed, without a purge.
+        Thread.sleep((until / 1000 + 1) * 1000 - System.currentTimeMillis() + 50);
+        cooldowns.isOnCooldown(owner, "other");
+
+        assertEquals(0, cooldowns.size());
+    }
+}
\ No newline at end of file
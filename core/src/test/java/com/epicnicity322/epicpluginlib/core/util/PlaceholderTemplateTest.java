@@ -0,0 +1,128 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceholderTemplateTest
+{
+    @Test
+    void compilesPlaceholdersInOrder()
+    {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("<player> joined <world.name>, <player>!");
+
+        assertTrue(template.hasPlaceholders());
+        assertEquals(Arrays.asList("player", "world.name", "player"), template.placeholders());
+        assertEquals("<player> joined <world.name>, <player>!", template.text());
+    }
+
+    @Test
+    void ignoresTextThatIsNotAPlaceholder()
+    {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("a < b, <> and <not closed or <two words>");
+
+        assertFalse(template.hasPlaceholders());
+        assertEquals("a < b, <> and <not closed or <two words>", template.render("b", "x"));
+    }
+
+    @Test
+    void rendersByName()
+    {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("<player> joined <world>, <player>!");
+
+        assertEquals("Steve joined world_nether, Steve!", template.render("player", "Steve", "world", "world_nether"));
+        assertEquals("Steve joined <world>, Steve!", template.render("player", "Steve"));
+        assertEquals("null joined <world>, null!", template.render("player", null));
+    }
+
+    @Test
+    void rendersAfterHead()
+    {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("Hello <player>");
+
+        assertEquals("[Prefix] Hello Steve", template.renderAfter("[Prefix] ", "player", "Steve"));
+        assertEquals("Hello Steve", template.renderAfter(null, "player", "Steve"));
+        assertEquals("[Prefix] Hello <player>", template.renderAfter("[Prefix] "));
+    }
+
+    @Test
+    void rendersFromMap()
+    {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("<a>-<b>-<c>");
+        Map<String, Object> values = new HashMap<>();
+        values.put("a", 1);
+        values.put("b", null);
+
+        assertEquals("1-null-<c>", template.render(values));
+    }
+
+    @Test
+    void rendersIndexed()
+    {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("<var0> <var1> <var10> <other0>");
+
+        assertEquals("A <var1> <var10> <other0>", template.renderIndexed("var", "A", null));
+        assertEquals("<var0> <var1> <var10> <other0>", template.renderIndexed("var"));
+    }
+
+    @Test
+    void rendersLiteralsAsTheyAre()
+    {
+        PlaceholderTemplate template = PlaceholderTemplate.literal("<player>");
+
+        assertFalse(template.hasPlaceholders());
+        assertEquals("<player>", template.render("player", "Steve"));
+    }
+
+    @Test
+    void rendersNestedTemplates()
+    {
+        // Values rendering other templates in their toString use the builder of the same thread.
+        PlaceholderTemplate inner = PlaceholderTemplate.compile("[<value>]");
+        Object nested = new Object()
+        {
+            @Override
+            public String toString()
+            {
+                return inner.render("value", "inner");
+            }
+        };
+        PlaceholderTemplate outer = PlaceholderTemplate.compile("<a> <b> <a>");
+
+        assertEquals("[inner] b [inner]", outer.render("a", nested, "b", "b"));
+        assertEquals("x b x", outer.render("a", "x", "b", "b"));
+    }
+
+    @Test
+    void rendersLongTexts()
+    {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 10000; i++) value.append('x');
+        PlaceholderTemplate template = PlaceholderTemplate.compile("<value>!");
+
+        assertEquals(value + "!", template.render("value", value));
+        assertEquals("short!", template.render("value", "short"));
+    }
+}
\ No newline at end of file
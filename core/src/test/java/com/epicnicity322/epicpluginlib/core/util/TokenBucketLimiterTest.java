@@ -0,0 +1,144 @@
+/*
+ * EpicPluginLib - Library with basic utilities for Minecraft plugins.
+ * Copyright (C) 2026 Christiano Rangel
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.epicnicity322.epicpluginlib.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest
+{
+    // Long enough for no token to be refilled while a test runs.
+    private static final long SLOW_REFILL = 100000;
+    private final UUID owner = UUID.randomUUID();
+
+    @Test
+    void rejectsInvalidArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(8388608, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(5, 0));
+        assertEquals(8388607, new TokenBucketLimiter(8388607, 1000).capacity());
+    }
+
+    @Test
+    void allowsBurstsUpToTheCapacity()
+    {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, SLOW_REFILL);
+
+        assertTrue(limiter.tryAcquire(owner, "chat"));
+        assertTrue(limiter.tryAcquire(owner, "chat"));
+        assertTrue(limiter.tryAcquire(owner, "chat"));
+        assertFalse(limiter.tryAcquire(owner, "chat"));
+        // Categories and owners have their own buckets.
+        assertTrue(limiter.tryAcquire(owner, "region"));
+        assertTrue(limiter.tryAcquire(UUID.randomUUID(), "chat"));
+    }
+
+    @Test
+    void refillsATokenEveryInterval() throws InterruptedException
+    {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 50);
+
+        assertTrue(limiter.tryAcquire(owner, "chat"));
+        assertFalse(limiter.tryAcquire(owner, "chat"));
+
+        long wait = limiter.millisUntilAvailable(owner, "chat");
+        assertTrue(wait > 0 && wait <= 50, "Wait out of range: " + wait);
+
+        Thread.sleep(80);
+
+        assertEquals(0, limiter.millisUntilAvailable(owner, "chat"));
+        assertTrue(limiter.tryAcquire(owner, "chat"));
+        assertFalse(limiter.tryAcquire(owner, "chat"));
+    }
+
+    @Test
+    void refillsNoMoreThanTheCapacity() throws InterruptedException
+    {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 10);
+
+        assertTrue(limiter.tryAcquire(owner, "chat"));
+        Thread.sleep(100);
+
+        assertTrue(limiter.tryAcquire(owner, "chat"));
+        assertTrue(limiter.tryAcquire(owner, "chat"));
+        assertFalse(limiter.tryAcquire(owner, "chat"));
+    }
+
+    @Test
+    void reservesTokensAheadOfTheRefill()
+    {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, SLOW_REFILL);
+
+        assertEquals(0, limiter.reserve(owner, "chat"));
+        assertEquals(0, limiter.reserve(owner, "chat"));
+
+        long first = limiter.reserve(owner, "chat");
+        long second = limiter.reserve(owner, "chat");
+
+        // Each reserved token waits one more refill interval.
+        assertTrue(first > SLOW_REFILL - 1000 && first <= SLOW_REFILL, "First wait out of range: " + first);
+        assertTrue(second > 2 * SLOW_REFILL - 1000 && second <= 2 * SLOW_REFILL, "Second wait out of range: " + second);
+        // No more than the capacity can be reserved.
+        assertEquals(-1, limiter.reserve(owner, "chat"));
+        assertFalse(limiter.tryAcquire(owner, "chat"));
+
+        long available = limiter.millisUntilAvailable(owner, "chat");
+        assertTrue(available > 3 * SLOW_REFILL - 1000 && available <= 3 * SLOW_REFILL, "Wait out of range: " + available);
+    }
+
+    @Test
+    void resetRefillsEveryBucketOfTheOwner()
+    {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, SLOW_REFILL);
+
+        limiter.tryAcquire(owner, "chat");
+        limiter.tryAcquire(owner, "region");
+        limiter.reset(owner);
+
+        assertEquals(0, limiter.size());
+        assertTrue(limiter.tryAcquire(owner, "chat"));
+        assertTrue(limiter.tryAcquire(owner, "region"));
+    }
+
+    @Test
+    void purgeRemovesOnlyFullBuckets() throws InterruptedException
+    {
+        TokenBucketLimiter slow = new TokenBucketLimiter(2, SLOW_REFILL);
+
+        slow.tryAcquire(owner, "chat");
+        slow.purge();
+
+        assertEquals(1, slow.size());
+        assertTrue(slow.tryAcquire(owner, "chat"));
+        assertFalse(slow.tryAcquire(owner, "chat"));
+
+        TokenBucketLimiter fast = new TokenBucketLimiter(1, 10);
+
+        fast.tryAcquire(owner, "chat");
+        Thread.sleep(50);
+        fast.purge();
+
+        assertEquals(0, fast.size());
+        assertTrue(fast.tryAcquire(owner, "chat"));
+    }
+}
\ No newline at end of file
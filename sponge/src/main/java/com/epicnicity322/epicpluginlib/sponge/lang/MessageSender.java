@@ -27,6 +27,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.spongepowered.api.entity.living.player.Player;
 
+import java.util.Locale;
 import java.util.UUID;
 import java.util.function.Supplier;
 
@@ -64,6 +65,15 @@ public final class MessageSender extends LanguageHolder<TextComponent, Audience>
         return null;
     }
 
+    @Override
+    protected @Nullable String receiverLocale(@NotNull Audience receiver)
+    {
+        if (receiver instanceof Player) {
+            return ((Player) receiver).locale().toString().toUpperCase(Locale.ROOT);
+        }
+        return null;
+    }
+
     @Override
     public void send(@NotNull Audience receiver, boolean prefix, @Nullable String message)
     {